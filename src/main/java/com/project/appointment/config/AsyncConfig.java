@@ -1,10 +1,109 @@
 package com.project.appointment.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded executors for @Async work. Mail has its own pool so a slow SMTP
+ * server can't starve other async tasks. When the general pool and its queue
+ * are full the submitting thread runs the task itself, which slows producers
+ * down instead of dropping work. The mail pool is fed only by the outbox
+ * dispatcher and rejects instead, so SMTP never runs on a request thread; a
+ * rejected message stays in the outbox and is retried. Queue depth, active
+ * threads and rejections are published as async.executor.* metrics tagged with
+ * the pool name.
+ */
 @Configuration
 @EnableAsync
-public class AsyncConfig {
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncConfig implements AsyncConfigurer {
+    
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${app.async.core-pool-size:4}")
+    private int corePoolSize;
+    
+    @Value("${app.async.max-pool-size:8}")
+    private int maxPoolSize;
+    
+    @Value("${app.async.queue-capacity:200}")
+    private int queueCapacity;
+    
+    @Value("${app.async.mail.core-pool-size:2}")
+    private int mailCorePoolSize;
+    
+    @Value("${app.async.mail.max-pool-size:4}")
+    private int mailMaxPoolSize;
+    
+    @Value("${app.async.mail.queue-capacity:500}")
+    private int mailQueueCapacity;
+    
+    @Bean(name = {"taskExecutor", "applicationTaskExecutor"})
+    public ThreadPoolTaskExecutor taskExecutor() {
+        return boundedExecutor("async", corePoolSize, maxPoolSize, queueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
+    @Bean(name = MAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor mailExecutor() {
+        return boundedExecutor("mail", mailCorePoolSize, mailMaxPoolSize, mailQueueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    @Override
+    public Executor getAsyncExecutor() {
+        return taskExecutor();
+    }
+    
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) -> log.error("Async method {} failed", method.getName(), ex);
+    }
+    
+    private ThreadPoolTaskExecutor boundedExecutor(String name, int core, int max, int queue,
+                                                   RejectedExecutionHandler saturationPolicy) {
+        Counter rejected = Counter.builder("async.executor.rejected")
+                .tag("name", name)
+                .register(meterRegistry);
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(max);
+        executor.setQueueCapacity(queue);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            log.warn("Executor '{}' saturated ({} active, {} queued); applying {}",
+                    name, pool.getActiveCount(), pool.getQueue().size(),
+                    saturationPolicy.getClass().getSimpleName());
+            saturationPolicy.rejectedExecution(task, pool);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        
+        Gauge.builder("async.executor.queue.size", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("async.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("name", name)
+                .register(meterRegistry);
+        return executor;
+    }
 }
-
@@ -1,13 +1,11 @@
 package com.project.appointment.config;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.CacheErrorHandler;
-import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -27,67 +25,85 @@ import java.util.Map;
 @Slf4j
 public class CacheConfig implements CachingConfigurer {
     
+    private static final Duration DEFAULT_TTL = Duration.ofHours(1);
+    
+    @Value("${app.cache.local-max-size:10000}")
+    private long localMaxSize;
+    
     @Bean
     @Primary
-    @ConditionalOnBean(RedisConnectionFactory.class)
-    public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
-        try {
-            // Test Redis connection
-            connectionFactory.getConnection().ping();
-            log.info("Redis connection successful. Using Redis cache manager.");
-            
-            // Default cache configuration
-            RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-                    .entryTtl(Duration.ofHours(1))
-                    .serializeKeysWith(
-                            RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
-                    )
-                    .serializeValuesWith(
-                            RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer())
-                    )
-                    .disableCachingNullValues();
-            
-            // Specific cache configurations
-            Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-            
-            // Business cache - 1 hour TTL
-            cacheConfigurations.put("business", defaultConfig.entryTtl(Duration.ofHours(1)));
-            cacheConfigurations.put("businesses", defaultConfig.entryTtl(Duration.ofHours(1)));
-            
-            // Services cache - 30 minutes TTL
-            cacheConfigurations.put("services", defaultConfig.entryTtl(Duration.ofMinutes(30)));
-            
-            // Employees cache - 30 minutes TTL
-            cacheConfigurations.put("employees", defaultConfig.entryTtl(Duration.ofMinutes(30)));
-            
-            // Work schedules cache - 1 hour TTL
-            cacheConfigurations.put("workSchedules", defaultConfig.entryTtl(Duration.ofHours(1)));
-            
-            // Appointments cache - 15 minutes TTL
-            cacheConfigurations.put("appointments", defaultConfig.entryTtl(Duration.ofMinutes(15)));
-            
-            // Dashboard cache - 5 minutes TTL
-            cacheConfigurations.put("dashboard", defaultConfig.entryTtl(Duration.ofMinutes(5)));
-            
-            // Analytics cache - 10 minutes TTL
-            cacheConfigurations.put("analytics", defaultConfig.entryTtl(Duration.ofMinutes(10)));
-            
-            return RedisCacheManager.builder(connectionFactory)
-                    .cacheDefaults(defaultConfig)
-                    .withInitialCacheConfigurations(cacheConfigurations)
-                    .build();
-        } catch (Exception e) {
-            log.warn("Redis connection failed: {}. Falling back to NoOpCacheManager. Caching will be disabled.", e.getMessage());
-            return new NoOpCacheManager();
+    public TwoLevelCacheManager cacheManager(ObjectProvider<RedisConnectionFactory> connectionFactoryProvider) {
+        Map<String, Duration> ttls = cacheTtls();
+        RedisCacheManager redisCacheManager = null;
+        CacheInvalidationBus invalidationBus = null;
+        
+        RedisConnectionFactory connectionFactory = connectionFactoryProvider.getIfAvailable();
+        if (connectionFactory != null) {
+            try {
+                // Test Redis connection
+                connectionFactory.getConnection().ping();
+                redisCacheManager = redisCacheManager(connectionFactory, ttls);
+                invalidationBus = new CacheInvalidationBus(connectionFactory);
+                log.info("Redis connection successful. Using Caffeine L1 + Redis L2 cache manager.");
+            } catch (Exception e) {
+                log.warn("Redis connection failed: {}. Falling back to local Caffeine cache only.", e.getMessage());
+            }
+        } else {
+            log.warn("Redis not available. Using local Caffeine cache only.");
         }
+        
+        return new TwoLevelCacheManager(ttls, DEFAULT_TTL, localMaxSize, redisCacheManager, invalidationBus);
     }
     
-    @Bean
-    @Primary
-    @ConditionalOnMissingBean(name = "redisCacheManager")
-    public CacheManager noOpCacheManager() {
-        log.warn("Redis not available. Using NoOpCacheManager. Caching is disabled.");
-        return new NoOpCacheManager();
+    private Map<String, Duration> cacheTtls() {
+        Map<String, Duration> ttls = new HashMap<>();
+        
+        // Business cache - 1 hour TTL
+        ttls.put("business", Duration.ofHours(1));
+        ttls.put("businesses", Duration.ofHours(1));
+        
+        // Services cache - 30 minutes TTL
+        ttls.put("services", Duration.ofMinutes(30));
+        
+        // Employees cache - 30 minutes TTL
+        ttls.put("employees", Duration.ofMinutes(30));
+        
+        // Work schedules cache - 1 hour TTL
+        ttls.put("workSchedules", Duration.ofHours(1));
+        
+        // Appointments cache - 15 minutes TTL
+        ttls.put("appointments", Duration.ofMinutes(15));
+        
+        // Dashboard cache - 5 minutes TTL
+        ttls.put("dashboard", Duration.ofMinutes(5));
+        
+        // Analytics cache - 10 minutes TTL
+        ttls.put("analytics", Duration.ofMinutes(10));
+        
+        return ttls;
+    }
+    
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory, Map<String, Duration> ttls) {
+        // Default cache configuration
+        RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(DEFAULT_TTL)
+                .serializeKeysWith(
+                        RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
+                )
+                .serializeValuesWith(
+                        RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer())
+                )
+                .disableCachingNullValues();
+        
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        ttls.forEach((name, ttl) -> cacheConfigurations.put(name, defaultConfig.entryTtl(ttl)));
+        
+        RedisCacheManager cacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaultConfig)
+                .withInitialCacheConfigurations(cacheConfigurations)
+                .build();
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
     }
     
     @Override
@@ -0,0 +1,72 @@
+package com.project.appointment.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Broadcasts cache writes over Redis pub/sub so every other node drops the
+ * matching L1 entry. Messages are "nodeId \n cacheName \n key"; an empty key
+ * means the whole cache was cleared. Besides the cache manager, in-memory
+ * indexes subscribe under their own names through {@link TwoLevelCacheManager}.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    static final String CHANNEL = "cache:invalidation";
+    private static final String SEPARATOR = "\n";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final List<BiConsumer<String, String>> localEvictors = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(RedisConnectionFactory connectionFactory) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+    }
+
+    void onInvalidation(BiConsumer<String, String> localEvictor) {
+        localEvictors.add(localEvictor);
+    }
+
+    void publish(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + SEPARATOR + cacheName + SEPARATOR + (key != null ? key : ""));
+        } catch (RuntimeException e) {
+            log.warn("Failed to broadcast cache invalidation for cache '{}': {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        String key = parts[2].isEmpty() ? null : parts[2];
+        localEvictors.forEach(localEvictor -> localEvictor.accept(parts[1], key));
+    }
+
+    void shutdown() {
+        try {
+            listenerContainer.destroy();
+        } catch (Exception e) {
+            log.debug("Error stopping cache invalidation listener: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.appointment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.appointment.security.LocalRateLimitBucketStore;
+import com.project.appointment.security.RateLimitBucketStore;
+import com.project.appointment.security.RateLimitFilter;
+import com.project.appointment.security.RateLimitProperties;
+import com.project.appointment.security.RedisRateLimitBucketStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@Slf4j
+public class RateLimitConfig {
+    
+    @Bean
+    public RateLimitBucketStore rateLimitBucketStore(RateLimitProperties properties,
+                                                     ObjectProvider<RedisConnectionFactory> connectionFactoryProvider) {
+        properties.validate();
+        LocalRateLimitBucketStore localStore =
+                new LocalRateLimitBucketStore(properties.getPolicies(), properties.getMaxLocalBuckets());
+        if (!properties.isDistributed()) {
+            return localStore;
+        }
+        RedisConnectionFactory connectionFactory = connectionFactoryProvider.getIfAvailable();
+        if (connectionFactory == null) {
+            log.warn("Distributed rate limiting requested but Redis is not configured. Using local buckets.");
+            return localStore;
+        }
+        log.info("Using Redis-backed rate limit buckets");
+        return new RedisRateLimitBucketStore(connectionFactory, localStore);
+    }
+    
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties, RateLimitBucketStore bucketStore,
+                                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, bucketStore, objectMapper, meterRegistry);
+    }
+    
+    /**
+     * The filter runs inside the security chain (after JWT authentication), not as a plain servlet filter.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
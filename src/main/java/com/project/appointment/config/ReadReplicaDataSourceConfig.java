@@ -0,0 +1,89 @@
+package com.project.appointment.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read/write split, active only when app.datasource.replica.url is set. The
+ * primary pool is built from spring.datasource as before; a second pool points
+ * at the replica, and read-only transactions are routed to it by
+ * {@link ReplicaRoutingDataSource}. Without a replica URL Boot's single
+ * auto-configured pool is used unchanged.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.url:}'.isEmpty()")
+@Slf4j
+public class ReadReplicaDataSourceConfig {
+    
+    @Value("${app.datasource.replica.url}")
+    private String replicaUrl;
+    
+    @Value("${app.datasource.replica.username:}")
+    private String replicaUsername;
+    
+    @Value("${app.datasource.replica.password:}")
+    private String replicaPassword;
+    
+    @Value("${app.datasource.replica.max-lag-ms:2000}")
+    private long maxLagMillis;
+    
+    @Value("${app.datasource.replica.read-your-writes-ms:5000}")
+    private long readYourWritesMillis;
+    
+    @Value("${app.datasource.replica.lag-check-ms:5000}")
+    private long lagCheckMillis;
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(replicaUrl)
+                .username(replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername)
+                .password(replicaPassword.isEmpty() ? properties.determinePassword() : replicaPassword)
+                .build();
+        dataSource.setPoolName("AppointmentReplicaPool");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(@Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        return new ReplicaLagGuard(replicaDataSource, maxLagMillis, readYourWritesMillis, lagCheckMillis);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagGuard lagGuard) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(lagGuard);
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.PRIMARY, primaryDataSource,
+                ReplicaRoutingDataSource.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        log.info("Read replica configured; read-only transactions are routed to {}", replicaUrl);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,95 @@
+package com.project.appointment.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.appointment.security.AuthenticatedUser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Decides when replica reads are safe. The replica's replay lag is sampled
+ * periodically and all reads go to the primary while it exceeds max-lag (or the
+ * replica can't be reached). Users who committed a write are also kept on the
+ * primary for a read-your-writes window, so they see their own changes. The
+ * window is per node; the lag check covers requests landing on other nodes.
+ * A healthy sample counts only for two check intervals: if the check stops
+ * running (e.g. the scheduler is stalled), reads fall back to the primary.
+ */
+@Slf4j
+public class ReplicaLagGuard {
+
+    // 0 when the replica has replayed everything it received (an idle primary ages pg_last_xact_replay_timestamp)
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMillis;
+    private final Cache<Object, Boolean> recentWriters;
+    private final long sampleValidNanos;
+    private volatile boolean replicaHealthy;
+    private volatile long sampledAtNanos;
+
+    public ReplicaLagGuard(DataSource replicaDataSource, long maxLagMillis, long readYourWritesMillis,
+                           long lagCheckMillis) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagMillis = maxLagMillis;
+        this.sampleValidNanos = Duration.ofMillis(2 * lagCheckMillis).toNanos();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(readYourWritesMillis))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public boolean replicaReadable() {
+        if (!replicaHealthy || System.nanoTime() - sampledAtNanos > sampleValidNanos) {
+            return false;
+        }
+        Object user = currentUser();
+        return user == null || recentWriters.getIfPresent(user) == null;
+    }
+
+    void recordWrite(Object user) {
+        recentWriters.put(user, Boolean.TRUE);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-ms:5000}")
+    public void checkLag() {
+        boolean healthy;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            healthy = lag != null && lag <= maxLagMillis;
+            if (!healthy && replicaHealthy) {
+                log.warn("Replica lag {}ms exceeds {}ms; routing reads to primary", lag, maxLagMillis);
+            }
+        } catch (Exception e) {
+            healthy = false;
+            if (replicaHealthy) {
+                log.warn("Replica lag check failed; routing reads to primary: {}", e.getMessage());
+            }
+        }
+        if (healthy && !replicaHealthy) {
+            log.info("Replica within lag limit; routing read-only transactions to replica");
+        }
+        sampledAtNanos = System.nanoTime();
+        replicaHealthy = healthy;
+    }
+
+    static Object currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getPrincipal() instanceof AuthenticatedUser user
+                ? user.userId()
+                : authentication.getName();
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.appointment.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and
+ * everything else to the primary. Must sit behind a LazyConnectionDataSourceProxy
+ * so the connection is fetched after the transaction's read-only flag is set.
+ * Reads stay on the primary while {@link ReplicaLagGuard} says the replica is
+ * behind or the current user wrote recently, and inside {@link #onPrimary},
+ * which callers use when they cache what they read.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final ReplicaLagGuard lagGuard;
+
+    public ReplicaRoutingDataSource(ReplicaLagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+    }
+
+    /**
+     * Runs {@code action} with reads routed to the primary. Only affects
+     * connections fetched inside it; a transaction already bound to a replica
+     * connection keeps it. A no-op when no replica is configured.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_PINNED.get();
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_PINNED.remove();
+            } else {
+                PRIMARY_PINNED.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriterAfterCommit();
+            return PRIMARY;
+        }
+        if (PRIMARY_PINNED.get() != null || !lagGuard.replicaReadable()) {
+            return PRIMARY;
+        }
+        return REPLICA;
+    }
+
+    private void rememberWriterAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Object user = ReplicaLagGuard.currentUser();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lagGuard.recordWrite(user);
+            }
+        });
+    }
+}
@@ -1,10 +1,29 @@
 package com.project.appointment.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+/**
+ * Runs @Scheduled jobs on their own pool so one long job (an outbox batch, the
+ * nightly stats rebuild) doesn't hold up the others, such as the replica lag check.
+ */
 @Configuration
 @EnableScheduling
 public class SchedulingConfig {
+    
+    @Value("${app.scheduling.pool-size:4}")
+    private int poolSize;
+    
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
 }
-
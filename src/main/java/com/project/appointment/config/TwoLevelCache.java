@@ -0,0 +1,190 @@
+package com.project.appointment.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache backed by a local Caffeine near-cache (L1) and an optional shared Redis
+ * cache (L2). Reads go to L1 first; writes and evictions go to both levels.
+ * Evictions and clears are broadcast so other nodes drop their L1 copy; puts
+ * are cache fills of the current value and are not broadcast. While Redis is
+ * failing the cache keeps working on L1 alone and retries L2 after a short pause.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private static final long L2_RETRY_MILLIS = 30_000;
+    private static final int GENERATION_STRIPES = 256;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationBus invalidationBus;
+    // Bumped on every invalidation of a key in the stripe, so an L1 fill from L2 can tell it raced one
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private volatile long remoteRetryAt;
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+                         Cache remote, CacheInvalidationBus invalidationBus) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        if (!remoteAvailable()) {
+            return null;
+        }
+        try {
+            long generation = generations.get(stripe(localKey));
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                local.put(localKey, wrapper.get());
+                // An invalidation that arrived while Redis was read may have been for an older value
+                if (generations.get(stripe(localKey)) != generation) {
+                    local.invalidate(localKey);
+                }
+            }
+            return wrapper;
+        } catch (RuntimeException e) {
+            remoteFailed("get", e);
+            return null;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        local.put(localKey(key), value);
+        if (remoteAvailable()) {
+            try {
+                remote.put(key, value);
+            } catch (RuntimeException e) {
+                remoteFailed("put", e);
+            }
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidateLocal(localKey(key));
+        if (remoteAvailable()) {
+            try {
+                remote.evict(key);
+            } catch (RuntimeException e) {
+                remoteFailed("evict", e);
+            }
+        }
+        publish(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidateLocal(null);
+        if (remoteAvailable()) {
+            try {
+                remote.clear();
+            } catch (RuntimeException e) {
+                remoteFailed("clear", e);
+            }
+        }
+        publish(null);
+    }
+
+    /**
+     * Drops L1 entries in response to another node's write; null clears the cache.
+     */
+    void evictLocal(String key) {
+        invalidateLocal(key);
+    }
+
+    // The generation is bumped before the entry is dropped, so a concurrent fill either sees the bump or is dropped
+    private void invalidateLocal(String key) {
+        if (key == null) {
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                generations.incrementAndGet(i);
+            }
+            local.invalidateAll();
+        } else {
+            generations.incrementAndGet(stripe(key));
+            local.invalidate(key);
+        }
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & 0x7fffffff) % GENERATION_STRIPES;
+    }
+
+    private void publish(Object key) {
+        if (invalidationBus != null) {
+            invalidationBus.publish(name, key != null ? localKey(key) : null);
+        }
+    }
+
+    private boolean remoteAvailable() {
+        return remote != null && System.currentTimeMillis() >= remoteRetryAt;
+    }
+
+    private void remoteFailed(String operation, RuntimeException e) {
+        remoteRetryAt = System.currentTimeMillis() + L2_RETRY_MILLIS;
+        log.warn("Redis cache {} failed for cache '{}': {}. Using local cache only for {}s.",
+                operation, name, e.getMessage(), L2_RETRY_MILLIS / 1000);
+    }
+
+    // Redis stores keys in their String form; L1 uses the same form so broadcasts can address entries
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
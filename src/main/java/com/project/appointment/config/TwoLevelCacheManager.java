@@ -0,0 +1,97 @@
+package com.project.appointment.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Creates {@link TwoLevelCache}s on demand. Each cache gets a bounded Caffeine
+ * L1 with the same TTL as its Redis configuration; without a Redis cache manager
+ * the caches run on L1 only.
+ */
+public class TwoLevelCacheManager implements CacheManager, DisposableBean {
+
+    private final Map<String, Duration> ttls;
+    private final Duration defaultTtl;
+    private final long localMaxSize;
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(Map<String, Duration> ttls, Duration defaultTtl, long localMaxSize,
+                                CacheManager remoteCacheManager, CacheInvalidationBus invalidationBus) {
+        this.ttls = ttls;
+        this.defaultTtl = defaultTtl;
+        this.localMaxSize = localMaxSize;
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationBus = invalidationBus;
+        if (invalidationBus != null) {
+            invalidationBus.onInvalidation(this::evictLocal);
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Tells the other nodes to drop {@code key} (null: everything) from the named
+     * in-memory structure. Lets components outside the cache abstraction share
+     * the invalidation channel; a no-op when running without Redis.
+     */
+    public void broadcastInvalidation(String name, String key) {
+        if (invalidationBus != null) {
+            invalidationBus.publish(name, key);
+        }
+    }
+
+    /**
+     * Registers a callback for invalidations another node broadcast under {@code name}.
+     */
+    public void onRemoteInvalidation(String name, Consumer<String> evictor) {
+        if (invalidationBus != null) {
+            invalidationBus.onInvalidation((cacheName, key) -> {
+                if (name.equals(cacheName)) {
+                    evictor.accept(key);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (invalidationBus != null) {
+            invalidationBus.shutdown();
+        }
+    }
+
+    private void evictLocal(String cacheName, String key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    private TwoLevelCache createCache(String name) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> local = Caffeine.newBuilder()
+                .expireAfterWrite(ttls.getOrDefault(name, defaultTtl))
+                .maximumSize(localMaxSize)
+                .build();
+        Cache remote = remoteCacheManager != null ? remoteCacheManager.getCache(name) : null;
+        return new TwoLevelCache(name, local, remote, invalidationBus);
+    }
+}
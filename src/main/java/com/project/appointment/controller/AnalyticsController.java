@@ -1,8 +1,7 @@
 package com.project.appointment.controller;
 
-import com.project.appointment.security.JwtService;
+import com.project.appointment.security.CurrentUserId;
 import com.project.appointment.service.AnalyticsService;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,14 +15,12 @@ import java.util.Map;
 public class AnalyticsController {
     
     private final AnalyticsService analyticsService;
-    private final JwtService jwtService;
     
     @GetMapping("/business/{businessId}")
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
     public ResponseEntity<Map<String, Object>> getBusinessAnalytics(
             @PathVariable Long businessId,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         return ResponseEntity.ok(analyticsService.getBusinessAnalytics(businessId, ownerId));
     }
     
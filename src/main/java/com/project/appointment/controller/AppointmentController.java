@@ -2,13 +2,16 @@ package com.project.appointment.controller;
 
 import com.project.appointment.dto.request.AppointmentRequest;
 import com.project.appointment.dto.request.AppointmentSearchRequest;
+import com.project.appointment.dto.request.AvailabilitySearchRequest;
 import com.project.appointment.dto.response.ApiResponse;
 import com.project.appointment.dto.response.AppointmentResponse;
 import com.project.appointment.dto.response.AvailableSlotResponse;
+import com.project.appointment.dto.response.CursorPage;
+import com.project.appointment.dto.response.EmployeeAvailabilityResponse;
 import com.project.appointment.entity.AppointmentStatus;
-import com.project.appointment.security.JwtService;
+import com.project.appointment.entity.Role;
+import com.project.appointment.security.CurrentUserId;
 import com.project.appointment.service.AppointmentService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -17,11 +20,16 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/appointments")
@@ -29,14 +37,12 @@ import java.util.List;
 public class AppointmentController {
     
     private final AppointmentService appointmentService;
-    private final JwtService jwtService;
     
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<AppointmentResponse> createAppointment(
             @Valid @RequestBody AppointmentRequest request,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         return ResponseEntity.status(HttpStatus.CREATED).body(appointmentService.createAppointment(request, userId));
     }
     
@@ -45,8 +51,7 @@ public class AppointmentController {
     public ResponseEntity<AppointmentResponse> updateAppointmentStatus(
             @PathVariable Long id,
             @RequestParam AppointmentStatus status,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         return ResponseEntity.ok(appointmentService.updateAppointmentStatus(id, status, userId));
     }
     
@@ -54,8 +59,7 @@ public class AppointmentController {
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
     public ResponseEntity<AppointmentResponse> approveByOwner(
             @PathVariable Long id,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         return ResponseEntity.ok(appointmentService.approveAppointmentByOwner(id, userId));
     }
     
@@ -63,8 +67,7 @@ public class AppointmentController {
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
     public ResponseEntity<AppointmentResponse> rejectByOwner(
             @PathVariable Long id,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         return ResponseEntity.ok(appointmentService.rejectAppointmentByOwner(id, userId));
     }
     
@@ -72,8 +75,7 @@ public class AppointmentController {
     @PreAuthorize("hasRole('STAFF')")
     public ResponseEntity<AppointmentResponse> approveByEmployee(
             @PathVariable Long id,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         return ResponseEntity.ok(appointmentService.approveAppointmentByEmployee(id, userId));
     }
     
@@ -81,8 +83,7 @@ public class AppointmentController {
     @PreAuthorize("hasRole('STAFF')")
     public ResponseEntity<AppointmentResponse> rejectByEmployee(
             @PathVariable Long id,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         return ResponseEntity.ok(appointmentService.rejectAppointmentByEmployee(id, userId));
     }
     
@@ -90,8 +91,7 @@ public class AppointmentController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Void>> cancelAppointment(
             @PathVariable Long id,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         appointmentService.cancelAppointment(id, userId);
         return ResponseEntity.ok(ApiResponse.success(null, "Randevu başarıyla iptal edildi"));
     }
@@ -109,74 +109,85 @@ public class AppointmentController {
     public ResponseEntity<List<AvailableSlotResponse>> getAvailableSlots(
             @RequestParam Long employeeId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @RequestParam Integer duration) {
-        return ResponseEntity.ok(appointmentService.getAvailableSlots(employeeId, date, duration));
+            @RequestParam Integer duration,
+            @RequestParam(defaultValue = "30") Integer granularity) {
+        return ResponseEntity.ok(appointmentService.getAvailableSlots(employeeId, date, duration, granularity));
+    }
+    
+    @PostMapping("/availability")
+    public ResponseEntity<List<EmployeeAvailabilityResponse>> searchAvailability(
+            @Valid @RequestBody AvailabilitySearchRequest request) {
+        return ResponseEntity.ok(appointmentService.searchAvailability(request));
     }
     
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<AppointmentResponse> getAppointmentById(@PathVariable Long id, HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<AppointmentResponse> getAppointmentById(@PathVariable Long id, @CurrentUserId Long userId) {
         return ResponseEntity.ok(appointmentService.getAppointmentById(id, userId));
     }
     
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> getAppointments(
+    public ResponseEntity<Page<AppointmentResponse>> getAppointments(
             @RequestParam(required = false) Long businessId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
-        
-        // If businessId is provided and user is business owner, return business appointments
-        if (businessId != null) {
-            try {
-                return ResponseEntity.ok(appointmentService.getBusinessAppointments(businessId, userId, PageRequest.of(page, size)));
-            } catch (Exception e) {
-                // If user is not the owner, fall through to return user appointments
-            }
-        }
-        
-        // Check if user is STAFF - return employee appointments
-        try {
-            return ResponseEntity.ok(appointmentService.getEmployeeAppointmentsPage(userId, PageRequest.of(page, size)));
-        } catch (Exception e) {
-            // If user is not an employee, fall through to return customer appointments
-        }
-        
-        // Return user's appointments as a page
-        List<AppointmentResponse> userAppointments = appointmentService.getUserAppointments(userId);
-        int start = page * size;
-        int end = Math.min(start + size, userAppointments.size());
-        List<AppointmentResponse> pagedAppointments = start < userAppointments.size() 
-            ? userAppointments.subList(start, end) 
-            : new ArrayList<>();
-        
-        Page<AppointmentResponse> appointmentPage = new org.springframework.data.domain.PageImpl<>(
-            pagedAppointments,
-            PageRequest.of(page, size),
-            userAppointments.size()
-        );
-        
-        return ResponseEntity.ok(appointmentPage);
+            @CurrentUserId Long userId,
+            Authentication authentication) {
+        return ResponseEntity.ok(appointmentService.getAppointments(
+                userId, roles(authentication), businessId, PageRequest.of(page, size)));
     }
     
     @GetMapping("/my")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<AppointmentResponse>> getMyAppointments(HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<List<AppointmentResponse>> getMyAppointments(@CurrentUserId Long userId) {
         return ResponseEntity.ok(appointmentService.getUserAppointments(userId));
     }
     
+    @GetMapping("/my/cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<AppointmentResponse>> getMyAppointmentsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUserId Long userId) {
+        return ResponseEntity.ok(appointmentService.getUserAppointmentsByCursor(userId, cursor, CursorPage.clampSize(size)));
+    }
+    
     @GetMapping("/business/{businessId}")
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
     public ResponseEntity<Page<AppointmentResponse>> getBusinessAppointments(
             @PathVariable Long businessId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         return ResponseEntity.ok(appointmentService.getBusinessAppointments(businessId, ownerId, PageRequest.of(page, size)));
     }
+    
+    @GetMapping("/business/{businessId}/cursor")
+    @PreAuthorize("hasRole('BUSINESS_OWNER')")
+    public ResponseEntity<CursorPage<AppointmentResponse>> getBusinessAppointmentsByCursor(
+            @PathVariable Long businessId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUserId Long ownerId) {
+        return ResponseEntity.ok(appointmentService.getBusinessAppointmentsByCursor(businessId, ownerId, cursor, CursorPage.clampSize(size)));
+    }
+    
+    @GetMapping("/employee/cursor")
+    @PreAuthorize("hasRole('STAFF')")
+    public ResponseEntity<CursorPage<AppointmentResponse>> getEmployeeAppointmentsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUserId Long userId) {
+        return ResponseEntity.ok(appointmentService.getEmployeeAppointmentsByCursor(userId, cursor, CursorPage.clampSize(size)));
+    }
+    
+    private static Set<Role> roles(Authentication authentication) {
+        Set<String> granted = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        return Arrays.stream(Role.values())
+                .filter(role -> granted.contains("ROLE_" + role.name()))
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(Role.class)));
+    }
 }
@@ -4,9 +4,8 @@ import com.project.appointment.dto.request.*;
 import com.project.appointment.dto.response.*;
 import com.project.appointment.entity.StaffInvitation;
 import com.project.appointment.exception.BusinessException;
-import com.project.appointment.security.JwtService;
+import com.project.appointment.security.CurrentUserId;
 import com.project.appointment.service.*;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,14 +31,13 @@ public class BusinessController {
     private final WorkScheduleService workScheduleService;
     private final StaffInvitationService staffInvitationService;
     private final ReviewService reviewService;
-    private final JwtService jwtService;
+    private final BusinessSearchIndex businessSearchIndex;
     
     @PostMapping
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
     public ResponseEntity<BusinessResponse> createBusiness(
             @Valid @RequestBody BusinessRequest request,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         return ResponseEntity.status(HttpStatus.CREATED).body(businessService.createBusiness(ownerId, request));
     }
     
@@ -50,6 +48,13 @@ public class BusinessController {
         return ResponseEntity.ok(businessService.getAllBusinesses(PageRequest.of(page, size, Sort.by("name"))));
     }
     
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<BusinessResponse>> getAllBusinessesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(businessService.getAllBusinessesByCursor(cursor, CursorPage.clampSize(size)));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<BusinessResponse>> getBusinessById(@PathVariable Long id) {
         BusinessResponse business = businessService.getBusinessById(id);
@@ -58,8 +63,7 @@ public class BusinessController {
     
     @GetMapping("/my")
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
-    public ResponseEntity<BusinessResponse> getMyBusiness(HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<BusinessResponse> getMyBusiness(@CurrentUserId Long ownerId) {
         return ResponseEntity.ok(businessService.getMyBusiness(ownerId));
     }
     
@@ -67,8 +71,7 @@ public class BusinessController {
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
     public ResponseEntity<BusinessResponse> updateBusiness(
             @Valid @RequestBody BusinessRequest request,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         return ResponseEntity.ok(businessService.updateBusiness(ownerId, request));
     }
     
@@ -80,10 +83,26 @@ public class BusinessController {
         return ResponseEntity.ok(businessService.searchBusinesses(keyword, PageRequest.of(page, size)));
     }
     
+    @GetMapping("/suggest")
+    public ResponseEntity<List<BusinessSuggestionResponse>> suggestBusinesses(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(businessSearchIndex.suggest(q, limit));
+    }
+    
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyBusinessResponse>> getNearbyBusinesses(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(businessService.findNearby(lat, lon, radiusKm, category, limit));
+    }
+    
     @GetMapping("/my-business")
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
-    public ResponseEntity<ApiResponse<BusinessResponse>> getMyBusinessApi(HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<ApiResponse<BusinessResponse>> getMyBusinessApi(@CurrentUserId Long ownerId) {
         try {
             BusinessResponse business = businessService.getMyBusiness(ownerId);
             return ResponseEntity.ok(ApiResponse.success(business, "İşletme bilgileri başarıyla getirildi"));
@@ -99,8 +118,7 @@ public class BusinessController {
     
     @GetMapping("/me")
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
-    public ResponseEntity<ApiResponse<BusinessResponse>> getMyBusinessMe(HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<ApiResponse<BusinessResponse>> getMyBusinessMe(@CurrentUserId Long ownerId) {
         try {
             BusinessResponse business = businessService.getMyBusiness(ownerId);
             return ResponseEntity.ok(ApiResponse.success(business, "İşletme bilgileri başarıyla getirildi"));
@@ -119,8 +137,7 @@ public class BusinessController {
     public ResponseEntity<ApiResponse<BusinessResponse>> updateBusinessById(
             @PathVariable Long businessId,
             @Valid @RequestBody BusinessRequest request,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         BusinessResponse business = businessService.getBusinessById(businessId);
         if (!business.getOwnerId().equals(ownerId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -143,14 +160,8 @@ public class BusinessController {
     public ResponseEntity<ApiResponse<ServiceResponse>> createService(
             @PathVariable Long businessId,
             @Valid @RequestBody ServiceRequest request,
-            HttpServletRequest req) {
+            @CurrentUserId Long ownerId) {
         log.debug("Creating service for businessId: {}, request: {}", businessId, request);
-        String token = jwtService.resolveToken(req);
-        if (token == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(ApiResponse.error("Token bulunamadı"));
-        }
-        Long ownerId = jwtService.getUserIdFromToken(token);
         if (ownerId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Token'dan kullanıcı ID'si alınamadı"));
@@ -167,8 +178,7 @@ public class BusinessController {
             @PathVariable Long businessId,
             @PathVariable Long serviceId,
             @Valid @RequestBody ServiceRequest request,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         // Business ownership is validated in service layer
         ServiceResponse service = serviceService.updateService(serviceId, request, ownerId);
         // Verify service belongs to the businessId
@@ -184,8 +194,7 @@ public class BusinessController {
     public ResponseEntity<ApiResponse<Void>> deleteService(
             @PathVariable Long businessId,
             @PathVariable Long serviceId,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         // Verify service belongs to the businessId before deletion
         ServiceResponse service = serviceService.getServiceById(serviceId);
         if (!service.getBusinessId().equals(businessId)) {
@@ -209,13 +218,7 @@ public class BusinessController {
     public ResponseEntity<ApiResponse<Object>> inviteEmployee(
             @PathVariable Long businessId,
             @RequestBody EmployeeRequest request,
-            HttpServletRequest req) {
-        String token = jwtService.resolveToken(req);
-        if (token == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(ApiResponse.error("Token bulunamadı"));
-        }
-        Long ownerId = jwtService.getUserIdFromToken(token);
+            @CurrentUserId Long ownerId) {
         if (ownerId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Token'dan kullanıcı ID'si alınamadı"));
@@ -250,8 +253,7 @@ public class BusinessController {
             @PathVariable Long businessId,
             @PathVariable Long employeeId,
             @Valid @RequestBody EmployeeRequest request,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         // Business ownership is validated in service layer
         EmployeeResponse employee = employeeService.updateEmployee(employeeId, request, ownerId);
         // Verify employee belongs to the businessId
@@ -267,8 +269,7 @@ public class BusinessController {
     public ResponseEntity<ApiResponse<Void>> deleteEmployee(
             @PathVariable Long businessId,
             @PathVariable Long employeeId,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         // Verify employee belongs to the businessId before deletion
         EmployeeResponse employee = employeeService.getEmployeeById(employeeId);
         if (!employee.getBusinessId().equals(businessId)) {
@@ -301,8 +302,7 @@ public class BusinessController {
             @PathVariable Long businessId,
             @PathVariable Long employeeId,
             @Valid @RequestBody BatchWorkScheduleRequest request,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         // Verify employee belongs to the businessId
         EmployeeResponse employee = employeeService.getEmployeeById(employeeId);
         if (!employee.getBusinessId().equals(businessId)) {
@@ -325,4 +325,12 @@ public class BusinessController {
                 reviewService.getBusinessReviews(businessId, PageRequest.of(page, size));
         return ResponseEntity.ok(ApiResponse.success(reviews, "İşletme yorumları başarıyla getirildi"));
     }
+    
+    @GetMapping("/{businessId}/reviews/cursor")
+    public ResponseEntity<CursorPage<ReviewResponse>> getBusinessReviewsByCursor(
+            @PathVariable Long businessId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reviewService.getBusinessReviewsByCursor(businessId, cursor, CursorPage.clampSize(size)));
+    }
 }
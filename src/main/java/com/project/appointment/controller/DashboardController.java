@@ -1,9 +1,8 @@
 package com.project.appointment.controller;
 
 import com.project.appointment.dto.response.DashboardResponse;
-import com.project.appointment.security.JwtService;
+import com.project.appointment.security.CurrentUserId;
 import com.project.appointment.service.DashboardService;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,14 +14,12 @@ import org.springframework.web.bind.annotation.*;
 public class DashboardController {
     
     private final DashboardService dashboardService;
-    private final JwtService jwtService;
     
     @GetMapping("/business/{businessId}")
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
     public ResponseEntity<DashboardResponse> getBusinessDashboard(
             @PathVariable Long businessId,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         return ResponseEntity.ok(dashboardService.getBusinessDashboard(businessId, ownerId));
     }
 }
@@ -4,10 +4,9 @@ import com.project.appointment.dto.request.EmployeeRequest;
 import com.project.appointment.dto.response.ApiResponse;
 import com.project.appointment.dto.response.EmployeeAnalyticsResponse;
 import com.project.appointment.dto.response.EmployeeResponse;
-import com.project.appointment.security.JwtService;
+import com.project.appointment.security.CurrentUserId;
 import com.project.appointment.service.EmployeeService;
 import com.project.appointment.service.StaffInvitationService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -24,15 +23,13 @@ public class EmployeeController {
     
     private final EmployeeService employeeService;
     private final StaffInvitationService invitationService;
-    private final JwtService jwtService;
     
     @PostMapping
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
     public ResponseEntity<EmployeeResponse> createEmployee(
             @RequestParam Long businessId,
             @Valid @RequestBody EmployeeRequest request,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.createEmployee(businessId, request, ownerId));
     }
     
@@ -56,15 +53,13 @@ public class EmployeeController {
     public ResponseEntity<EmployeeResponse> updateEmployee(
             @PathVariable Long id,
             @Valid @RequestBody EmployeeRequest request,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         return ResponseEntity.ok(employeeService.updateEmployee(id, request, ownerId));
     }
     
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
-    public ResponseEntity<Void> deleteEmployee(@PathVariable Long id, HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<Void> deleteEmployee(@PathVariable Long id, @CurrentUserId Long ownerId) {
         employeeService.deleteEmployee(id, ownerId);
         return ResponseEntity.noContent().build();
     }
@@ -73,8 +68,7 @@ public class EmployeeController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Object>> acceptInvitation(
             @RequestParam String token,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Kullanıcı kimlik doğrulaması yapılmadı"));
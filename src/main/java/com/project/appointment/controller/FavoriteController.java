@@ -2,9 +2,8 @@ package com.project.appointment.controller;
 
 import com.project.appointment.dto.response.ApiResponse;
 import com.project.appointment.dto.response.BusinessResponse;
-import com.project.appointment.security.JwtService;
+import com.project.appointment.security.CurrentUserId;
 import com.project.appointment.service.FavoriteService;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,12 +18,10 @@ import java.util.List;
 public class FavoriteController {
     
     private final FavoriteService favoriteService;
-    private final JwtService jwtService;
     
     @PostMapping("/{businessId}")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<ApiResponse<Void>> addFavorite(@PathVariable Long businessId, HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<ApiResponse<Void>> addFavorite(@PathVariable Long businessId, @CurrentUserId Long userId) {
         try {
             favoriteService.addFavorite(businessId, userId);
             return ResponseEntity.status(HttpStatus.CREATED)
@@ -40,24 +37,21 @@ public class FavoriteController {
     
     @DeleteMapping("/{businessId}")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<ApiResponse<Void>> removeFavorite(@PathVariable Long businessId, HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<ApiResponse<Void>> removeFavorite(@PathVariable Long businessId, @CurrentUserId Long userId) {
         favoriteService.removeFavorite(businessId, userId);
         return ResponseEntity.ok(ApiResponse.success(null, "İşletme favorilerden kaldırıldı"));
     }
     
     @GetMapping
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<ApiResponse<List<BusinessResponse>>> getFavorites(HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<ApiResponse<List<BusinessResponse>>> getFavorites(@CurrentUserId Long userId) {
         List<BusinessResponse> favorites = favoriteService.getUserFavorites(userId);
         return ResponseEntity.ok(ApiResponse.success(favorites, "Favoriler başarıyla getirildi"));
     }
     
     @GetMapping("/{businessId}/check")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<ApiResponse<Boolean>> checkFavorite(@PathVariable Long businessId, HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<ApiResponse<Boolean>> checkFavorite(@PathVariable Long businessId, @CurrentUserId Long userId) {
         boolean isFavorite = favoriteService.isFavorite(businessId, userId);
         return ResponseEntity.ok(ApiResponse.success(isFavorite, "Favori durumu kontrol edildi"));
     }
@@ -1,12 +1,12 @@
 package com.project.appointment.controller;
 
 import com.project.appointment.dto.request.NotificationPreferenceRequest;
+import com.project.appointment.dto.response.CursorPage;
 import com.project.appointment.dto.response.NotificationResponse;
 import com.project.appointment.entity.NotificationPreference;
-import com.project.appointment.security.JwtService;
+import com.project.appointment.security.CurrentUserId;
 import com.project.appointment.service.NotificationPreferenceService;
 import com.project.appointment.service.NotificationService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -24,45 +24,48 @@ public class NotificationController {
     
     private final NotificationService notificationService;
     private final NotificationPreferenceService preferenceService;
-    private final JwtService jwtService;
     
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Page<NotificationResponse>> getNotifications(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         return ResponseEntity.ok(notificationService.getUserNotifications(userId, PageRequest.of(page, size)));
     }
     
+    @GetMapping("/cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<NotificationResponse>> getNotificationsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUserId Long userId) {
+        return ResponseEntity.ok(notificationService.getUserNotificationsByCursor(userId, cursor, CursorPage.clampSize(size)));
+    }
+    
     @GetMapping("/unread-count")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Map<String, Long>> getUnreadCount(HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@CurrentUserId Long userId) {
         return ResponseEntity.ok(Map.of("count", notificationService.getUnreadCount(userId)));
     }
     
     @PutMapping("/{id}/read")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Void> markAsRead(@PathVariable Long id, HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<Void> markAsRead(@PathVariable Long id, @CurrentUserId Long userId) {
         notificationService.markAsRead(id, userId);
         return ResponseEntity.noContent().build();
     }
     
     @PutMapping("/read-all")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Void> markAllAsRead(HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<Void> markAllAsRead(@CurrentUserId Long userId) {
         notificationService.markAllAsRead(userId);
         return ResponseEntity.noContent().build();
     }
     
     @GetMapping("/preferences")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<NotificationPreference> getPreferences(HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<NotificationPreference> getPreferences(@CurrentUserId Long userId) {
         return ResponseEntity.ok(preferenceService.getUserPreferences(userId));
     }
     
@@ -70,8 +73,7 @@ public class NotificationController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<NotificationPreference> updatePreferences(
             @Valid @RequestBody NotificationPreferenceRequest request,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         return ResponseEntity.ok(preferenceService.updatePreferences(userId, request));
     }
 }
@@ -2,10 +2,10 @@ package com.project.appointment.controller;
 
 import com.project.appointment.dto.request.ReviewRequest;
 import com.project.appointment.dto.response.ApiResponse;
+import com.project.appointment.dto.response.CursorPage;
 import com.project.appointment.dto.response.ReviewResponse;
-import com.project.appointment.security.JwtService;
+import com.project.appointment.security.CurrentUserId;
 import com.project.appointment.service.ReviewService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -21,18 +21,16 @@ import java.util.List;
 public class ReviewController {
     
     private final ReviewService reviewService;
-    private final JwtService jwtService;
     
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<ApiResponse<ReviewResponse>> createReview(
             @Valid @RequestBody ReviewRequest request,
-            HttpServletRequest req) {
+            @CurrentUserId Long userId) {
         if (request.getAppointmentId() == null) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Appointment ID is required"));
         }
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
         ReviewResponse review = reviewService.createReview(request.getAppointmentId(), request, userId);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(review, "Yorum başarıyla eklendi"));
@@ -43,26 +41,32 @@ public class ReviewController {
     public ResponseEntity<ReviewResponse> createReviewByAppointmentId(
             @PathVariable Long appointmentId,
             @Valid @RequestBody ReviewRequest request,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         return ResponseEntity.status(HttpStatus.CREATED).body(reviewService.createReview(appointmentId, request, userId));
     }
     
     @GetMapping("/me")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<ApiResponse<List<ReviewResponse>>> getMyReviews(HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<ApiResponse<List<ReviewResponse>>> getMyReviews(@CurrentUserId Long userId) {
         List<ReviewResponse> reviews = reviewService.getUserReviews(userId);
         return ResponseEntity.ok(ApiResponse.success(reviews, "Yorumlar başarıyla getirildi"));
     }
     
+    @GetMapping("/me/cursor")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<CursorPage<ReviewResponse>> getMyReviewsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUserId Long userId) {
+        return ResponseEntity.ok(reviewService.getUserReviewsByCursor(userId, cursor, CursorPage.clampSize(size)));
+    }
+    
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<ApiResponse<ReviewResponse>> updateReview(
             @PathVariable Long id,
             @Valid @RequestBody ReviewRequest request,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         ReviewResponse review = reviewService.updateReview(id, request, userId);
         return ResponseEntity.ok(ApiResponse.success(review, "Yorum başarıyla güncellendi"));
     }
@@ -71,8 +75,7 @@ public class ReviewController {
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<ApiResponse<Void>> deleteReview(
             @PathVariable Long id,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         reviewService.deleteReview(id, userId);
         return ResponseEntity.ok(ApiResponse.success(null, "Yorum başarıyla silindi"));
     }
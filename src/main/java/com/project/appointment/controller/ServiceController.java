@@ -2,9 +2,8 @@ package com.project.appointment.controller;
 
 import com.project.appointment.dto.request.ServiceRequest;
 import com.project.appointment.dto.response.ServiceResponse;
-import com.project.appointment.security.JwtService;
+import com.project.appointment.security.CurrentUserId;
 import com.project.appointment.service.ServiceService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -20,15 +19,13 @@ import java.util.List;
 public class ServiceController {
     
     private final ServiceService serviceService;
-    private final JwtService jwtService;
     
     @PostMapping
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
     public ResponseEntity<ServiceResponse> createService(
             @RequestParam Long businessId,
             @Valid @RequestBody ServiceRequest request,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         return ResponseEntity.status(HttpStatus.CREATED).body(serviceService.createService(businessId, request, ownerId));
     }
     
@@ -47,15 +44,13 @@ public class ServiceController {
     public ResponseEntity<ServiceResponse> updateService(
             @PathVariable Long id,
             @Valid @RequestBody ServiceRequest request,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         return ResponseEntity.ok(serviceService.updateService(id, request, ownerId));
     }
     
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
-    public ResponseEntity<Void> deleteService(@PathVariable Long id, HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<Void> deleteService(@PathVariable Long id, @CurrentUserId Long ownerId) {
         serviceService.deleteService(id, ownerId);
         return ResponseEntity.noContent().build();
     }
@@ -2,9 +2,8 @@ package com.project.appointment.controller;
 
 import com.project.appointment.dto.response.ApiResponse;
 import com.project.appointment.entity.StaffInvitation;
-import com.project.appointment.security.JwtService;
+import com.project.appointment.security.CurrentUserId;
 import com.project.appointment.service.StaffInvitationService;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,15 +18,13 @@ import java.util.List;
 public class StaffInvitationController {
     
     private final StaffInvitationService invitationService;
-    private final JwtService jwtService;
     
     @PostMapping
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
     public ResponseEntity<ApiResponse<StaffInvitation>> sendInvitation(
             @RequestParam Long businessId,
             @RequestParam String email,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         StaffInvitation invitation = invitationService.sendInvitation(businessId, email, ownerId);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(invitation, "Çalışan davetiyesi başarıyla gönderildi"));
@@ -37,8 +34,7 @@ public class StaffInvitationController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Object>> acceptInvitation(
             @RequestParam String token,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Kullanıcı kimlik doğrulaması yapılmadı"));
@@ -51,8 +47,7 @@ public class StaffInvitationController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Object>> rejectInvitation(
             @RequestParam String token,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(ApiResponse.error("Kullanıcı kimlik doğrulaması yapılmadı"));
@@ -65,8 +60,7 @@ public class StaffInvitationController {
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
     public ResponseEntity<ApiResponse<List<StaffInvitation>>> getBusinessInvitations(
             @RequestParam Long businessId,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         List<StaffInvitation> invitations = invitationService.getBusinessInvitations(businessId, ownerId);
         return ResponseEntity.ok(ApiResponse.success(invitations, "Davetiyeler başarıyla getirildi"));
     }
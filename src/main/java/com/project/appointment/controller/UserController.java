@@ -4,9 +4,8 @@ import com.project.appointment.dto.request.UpdatePasswordRequest;
 import com.project.appointment.dto.request.UpdateUserRequest;
 import com.project.appointment.dto.response.ApiResponse;
 import com.project.appointment.dto.response.UserResponse;
-import com.project.appointment.security.JwtService;
+import com.project.appointment.security.CurrentUserId;
 import com.project.appointment.service.UserService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -19,12 +18,10 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
     
     private final UserService userService;
-    private final JwtService jwtService;
     
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<UserResponse>> getCurrentUser(HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<ApiResponse<UserResponse>> getCurrentUser(@CurrentUserId Long userId) {
         UserResponse user = userService.getCurrentUser(userId);
         return ResponseEntity.ok(ApiResponse.success(user, "Kullanıcı bilgileri başarıyla getirildi"));
     }
@@ -33,8 +30,7 @@ public class UserController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<UserResponse>> updateUserProfile(
             @Valid @RequestBody UpdateUserRequest request,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         UserResponse user = userService.updateUserProfile(userId, request);
         return ResponseEntity.ok(ApiResponse.success(user, "Profil bilgileri başarıyla güncellendi"));
     }
@@ -43,8 +39,7 @@ public class UserController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Void>> changePassword(
             @Valid @RequestBody UpdatePasswordRequest request,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         userService.changePassword(userId, request);
         return ResponseEntity.ok(ApiResponse.success(null, "Şifre başarıyla değiştirildi"));
     }
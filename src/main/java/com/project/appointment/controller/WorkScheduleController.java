@@ -3,9 +3,8 @@ package com.project.appointment.controller;
 import com.project.appointment.dto.request.BatchWorkScheduleRequest;
 import com.project.appointment.dto.request.WorkScheduleRequest;
 import com.project.appointment.dto.response.WorkScheduleResponse;
-import com.project.appointment.security.JwtService;
+import com.project.appointment.security.CurrentUserId;
 import com.project.appointment.service.WorkScheduleService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -21,15 +20,13 @@ import java.util.List;
 public class WorkScheduleController {
     
     private final WorkScheduleService workScheduleService;
-    private final JwtService jwtService;
     
     @PostMapping
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
     public ResponseEntity<WorkScheduleResponse> createWorkSchedule(
             @RequestParam Long employeeId,
             @Valid @RequestBody WorkScheduleRequest request,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         return ResponseEntity.status(HttpStatus.CREATED).body(workScheduleService.createWorkSchedule(employeeId, request, ownerId));
     }
     
@@ -52,15 +49,13 @@ public class WorkScheduleController {
     public ResponseEntity<WorkScheduleResponse> updateWorkSchedule(
             @PathVariable Long id,
             @Valid @RequestBody WorkScheduleRequest request,
-            HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long ownerId) {
         return ResponseEntity.ok(workScheduleService.updateWorkSchedule(id, request, ownerId));
     }
     
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('BUSINESS_OWNER')")
-    public ResponseEntity<Void> deleteWorkSchedule(@PathVariable Long id, HttpServletRequest req) {
-        Long ownerId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<Void> deleteWorkSchedule(@PathVariable Long id, @CurrentUserId Long ownerId) {
         workScheduleService.deleteWorkSchedule(id, ownerId);
         return ResponseEntity.noContent().build();
     }
@@ -70,8 +65,7 @@ public class WorkScheduleController {
      */
     @GetMapping("/my-schedules")
     @PreAuthorize("hasRole('STAFF')")
-    public ResponseEntity<List<WorkScheduleResponse>> getMySchedules(HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+    public ResponseEntity<List<WorkScheduleResponse>> getMySchedules(@CurrentUserId Long userId) {
         return ResponseEntity.ok(workScheduleService.getMySchedules(userId));
     }
     
@@ -82,8 +76,7 @@ public class WorkScheduleController {
     @PreAuthorize("hasRole('STAFF')")
     public ResponseEntity<List<WorkScheduleResponse>> updateMySchedules(
             @Valid @RequestBody BatchWorkScheduleRequest request,
-            HttpServletRequest req) {
-        Long userId = jwtService.getUserIdFromToken(jwtService.resolveToken(req));
+            @CurrentUserId Long userId) {
         return ResponseEntity.ok(workScheduleService.updateMySchedules(userId, request));
     }
 }
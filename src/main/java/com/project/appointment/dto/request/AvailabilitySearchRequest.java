@@ -0,0 +1,33 @@
+package com.project.appointment.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilitySearchRequest {
+    
+    @NotNull(message = "Business ID is required")
+    private Long businessId;
+    
+    @NotNull(message = "Service ID is required")
+    private Long serviceId;
+    
+    private List<Long> employeeIds; // Optional - all active employees of the business when empty
+    
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+    
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+    
+    private Integer granularityMinutes; // 5, 10, 15 or 30 - defaults to 30
+}
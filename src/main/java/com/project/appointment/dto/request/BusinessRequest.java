@@ -29,6 +29,14 @@ public class BusinessRequest {
     @NotBlank(message = "Şehir zorunludur")
     private String city;
     
+    @DecimalMin(value = "-90.0", message = "Enlem -90 ile 90 arasında olmalıdır")
+    @DecimalMax(value = "90.0", message = "Enlem -90 ile 90 arasında olmalıdır")
+    private Double latitude;
+    
+    @DecimalMin(value = "-180.0", message = "Boylam -180 ile 180 arasında olmalıdır")
+    @DecimalMax(value = "180.0", message = "Boylam -180 ile 180 arasında olmalıdır")
+    private Double longitude;
+    
     @NotBlank(message = "İşletme tipi zorunludur")
     private String businessType;
     
@@ -0,0 +1,53 @@
+package com.project.appointment.dto.request;
+
+import com.project.appointment.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page: its sort key plus id as tie-breaker.
+ * Clients only see the URL-safe Base64 token and pass it back unchanged.
+ */
+public record PageCursor(String sortKey, Long id) {
+    
+    private static final String SEPARATOR = "|";
+    
+    public static PageCursor of(LocalDateTime sortKey, Long id) {
+        return new PageCursor(sortKey.toString(), id);
+    }
+    
+    public static PageCursor of(String sortKey, Long id) {
+        return new PageCursor(sortKey, id);
+    }
+    
+    /**
+     * Decodes a token from a request; returns {@code null} for the first page.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            return new PageCursor(raw.substring(0, split), Long.parseLong(raw.substring(split + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+    
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sortKey + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDateTime timeKey() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+}
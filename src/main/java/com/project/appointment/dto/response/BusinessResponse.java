@@ -20,6 +20,8 @@ public class BusinessResponse {
     private String category;
     private String address;
     private String city;
+    private Double latitude;
+    private Double longitude;
     private BusinessType businessType;
     private String phone;
     private String email;
@@ -0,0 +1,17 @@
+package com.project.appointment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BusinessSuggestionResponse {
+    private Long id;
+    private String name;
+    private String category;
+    private String city;
+}
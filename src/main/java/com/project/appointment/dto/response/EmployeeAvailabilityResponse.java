@@ -0,0 +1,28 @@
+package com.project.appointment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeAvailabilityResponse {
+    private Long employeeId;
+    private String employeeName;
+    private List<DaySlots> days;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DaySlots {
+        private LocalDate date;
+        private List<AvailableSlotResponse> slots;
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.appointment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearbyBusinessResponse {
+    private Long id;
+    private String name;
+    private String category;
+    private String address;
+    private String city;
+    private Double latitude;
+    private Double longitude;
+    private String imageUrl;
+    private Double averageRating;
+    private Integer ratingCount;
+    private Double distanceKm;
+}
@@ -11,14 +11,24 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "appointments")
+@NamedEntityGraph(name = Appointment.DETAILS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("business"),
+        @NamedAttributeNode("service"),
+        @NamedAttributeNode("employee")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Appointment {
     
+    /** Everything {@code AppointmentResponse} reads, loaded in the same statement as the appointment. */
+    public static final String DETAILS_GRAPH = "Appointment.details";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointments_seq")
+    @SequenceGenerator(name = "appointments_seq", sequenceName = "appointments_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -70,10 +80,6 @@ public class Appointment {
     @Column(name = "cancellation_reason")
     private String cancellationReason;
     
-    @Column(name = "reminder_sent", nullable = false)
-    @Builder.Default
-    private boolean reminderSent = false;
-    
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
@@ -0,0 +1,33 @@
+package com.project.appointment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "appointment_reminders",
+       uniqueConstraints = @UniqueConstraint(name = "uk_appointment_reminders",
+               columnNames = {"appointment_id", "offset_minutes"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AppointmentReminder {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "appointment_id", nullable = false)
+    private Long appointmentId;
+    
+    @Column(name = "offset_minutes", nullable = false)
+    private Integer offsetMinutes;
+    
+    @Column(name = "sent_at", nullable = false)
+    private LocalDateTime sentAt;
+}
@@ -19,7 +19,8 @@ import java.util.List;
 public class Business {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "businesses_seq")
+    @SequenceGenerator(name = "businesses_seq", sequenceName = "businesses_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "owner_id", unique = true, nullable = false)
@@ -38,6 +39,10 @@ public class Business {
     
     private String city;
     
+    private Double latitude;
+    
+    private Double longitude;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "business_type")
     private BusinessType businessType;
@@ -53,6 +58,16 @@ public class Business {
     @Builder.Default
     private Boolean isActive = true;
     
+    // Maintained by atomic UPDATEs in the repositories; never written through the entity
+    @Column(name = "rating_sum", insertable = false, updatable = false)
+    private Long ratingSum;
+    
+    @Column(name = "rating_count", insertable = false, updatable = false)
+    private Integer ratingCount;
+    
+    @Column(name = "favorite_count", insertable = false, updatable = false)
+    private Integer favoriteCount;
+    
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
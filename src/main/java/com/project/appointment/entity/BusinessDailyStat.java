@@ -0,0 +1,72 @@
+package com.project.appointment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One rollup row per business, day, service and employee. Rows are written
+ * with native delta upserts and rebuilt from appointments by BusinessStatsService.
+ */
+@Entity
+@Table(name = "business_daily_stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_daily_stats_key", columnNames = {"business_id", "stat_date", "service_id", "employee_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BusinessDailyStat {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "business_id", nullable = false)
+    private Long businessId;
+    
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+    
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId; // 0 = no service
+    
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId; // 0 = no employee
+    
+    @Column(name = "total_count", nullable = false)
+    private Integer totalCount;
+    
+    @Column(name = "pending_count", nullable = false)
+    private Integer pendingCount;
+    
+    @Column(name = "confirmed_count", nullable = false)
+    private Integer confirmedCount;
+    
+    @Column(name = "completed_count", nullable = false)
+    private Integer completedCount;
+    
+    @Column(name = "cancelled_count", nullable = false)
+    private Integer cancelledCount;
+    
+    @Column(name = "no_show_count", nullable = false)
+    private Integer noShowCount;
+    
+    @Column(name = "paid_revenue", nullable = false, precision = 12, scale = 2)
+    private BigDecimal paidRevenue;
+    
+    @Column(name = "rating_sum", nullable = false)
+    private Integer ratingSum;
+    
+    @Column(name = "rating_count", nullable = false)
+    private Integer ratingCount;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,7 @@
+package com.project.appointment.entity;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
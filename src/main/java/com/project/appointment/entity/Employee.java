@@ -19,7 +19,8 @@ import java.util.List;
 public class Employee {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -46,6 +47,13 @@ public class Employee {
     @Builder.Default
     private Boolean isActive = true;
     
+    // Maintained by atomic UPDATEs in EmployeeRepository; never written through the entity
+    @Column(name = "rating_sum", insertable = false, updatable = false)
+    private Long ratingSum;
+    
+    @Column(name = "rating_count", insertable = false, updatable = false)
+    private Integer ratingCount;
+    
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
     
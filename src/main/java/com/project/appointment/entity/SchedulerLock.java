@@ -0,0 +1,31 @@
+package com.project.appointment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLock {
+    
+    @Id
+    @Column(length = 100)
+    private String name;
+    
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+    
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+    
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+}
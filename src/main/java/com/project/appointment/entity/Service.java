@@ -20,7 +20,8 @@ import java.util.List;
 public class Service {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "services_seq")
+    @SequenceGenerator(name = "services_seq", sequenceName = "services_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
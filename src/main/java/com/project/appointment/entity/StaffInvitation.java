@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class StaffInvitation {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "staff_invitations_seq")
+    @SequenceGenerator(name = "staff_invitations_seq", sequenceName = "staff_invitations_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -20,7 +20,8 @@ import java.time.LocalTime;
 public class WorkSchedule {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "work_schedules_seq")
+    @SequenceGenerator(name = "work_schedules_seq", sequenceName = "work_schedules_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
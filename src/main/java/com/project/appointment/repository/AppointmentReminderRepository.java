@@ -0,0 +1,26 @@
+package com.project.appointment.repository;
+
+import com.project.appointment.entity.AppointmentReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AppointmentReminderRepository extends JpaRepository<AppointmentReminder, Long> {
+    
+    /**
+     * Records the reminder as sent; returns 0 when it already was (by this or another node).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO appointment_reminders (appointment_id, offset_minutes, sent_at) " +
+           "VALUES (:appointmentId, :offsetMinutes, :sentAt) " +
+           "ON CONFLICT (appointment_id, offset_minutes) DO NOTHING",
+           nativeQuery = true)
+    int claim(@Param("appointmentId") Long appointmentId,
+              @Param("offsetMinutes") int offsetMinutes,
+              @Param("sentAt") LocalDateTime sentAt);
+}
@@ -2,8 +2,10 @@ package com.project.appointment.repository;
 
 import com.project.appointment.entity.Appointment;
 import com.project.appointment.entity.AppointmentStatus;
+import com.project.appointment.repository.projection.ReminderTargetView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -12,16 +14,52 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long>, JpaSpecificationExecutor<Appointment> {
     
+    @EntityGraph(Appointment.DETAILS_GRAPH)
     @Query("SELECT a FROM Appointment a WHERE a.customer.id = :userId")
     List<Appointment> findByUserId(@Param("userId") Long userId);
     
+    @EntityGraph(Appointment.DETAILS_GRAPH)
     Page<Appointment> findByBusinessId(Long businessId, Pageable pageable);
     
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    List<Appointment> findByBusinessIdOrderByStartTimeDescIdDesc(Long businessId, Pageable pageable);
+    
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    @Query("SELECT a FROM Appointment a WHERE a.business.id = :businessId " +
+           "AND (a.startTime < :startTime OR (a.startTime = :startTime AND a.id < :id)) " +
+           "ORDER BY a.startTime DESC, a.id DESC")
+    List<Appointment> findBusinessPageAfter(
+            @Param("businessId") Long businessId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Pageable pageable);
+    
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    Page<Appointment> findByCustomerId(Long customerId, Pageable pageable);
+    
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    List<Appointment> findByCustomerIdOrderByStartTimeDescIdDesc(Long customerId, Pageable pageable);
+    
+    /**
+     * Keyset page of a customer's appointments after ({@code startTime}, {@code id}), newest first.
+     */
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    @Query("SELECT a FROM Appointment a WHERE a.customer.id = :customerId " +
+           "AND (a.startTime < :startTime OR (a.startTime = :startTime AND a.id < :id)) " +
+           "ORDER BY a.startTime DESC, a.id DESC")
+    List<Appointment> findCustomerPageAfter(
+            @Param("customerId") Long customerId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Pageable pageable);
+    
     Long countByBusinessId(Long businessId);
     
     Long countByBusinessIdAndStatus(Long businessId, AppointmentStatus status);
@@ -53,16 +91,6 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>,
            "WHERE a.employee.id = :employeeId AND a.paymentStatus = 'PAID'")
     BigDecimal getTotalEarningsByEmployeeId(@Param("employeeId") Long employeeId);
     
-    @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Appointment a " +
-           "WHERE a.employee.id = :employeeId " +
-           "AND a.startTime < :endTime AND a.endTime > :startTime " +
-           "AND a.status != :excludeStatus")
-    boolean existsByEmployeeIdAndAppointmentTimeBetweenAndStatusNot(
-            @Param("employeeId") Long employeeId, 
-            @Param("startTime") LocalDateTime startTime, 
-            @Param("endTime") LocalDateTime endTime, 
-            @Param("excludeStatus") AppointmentStatus excludeStatus);
-    
     @Query("SELECT a FROM Appointment a " +
            "WHERE a.employee.id = :employeeId " +
            "AND a.startTime >= :startTime AND a.startTime < :endTime " +
@@ -74,14 +102,49 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>,
             @Param("excludeStatus") AppointmentStatus excludeStatus);
     
     @Query("SELECT a FROM Appointment a " +
-           "WHERE a.reminderSent = false " +
-           "AND a.startTime >= :start AND a.startTime <= :end " +
-           "AND a.status = 'CONFIRMED'")
-    List<Appointment> findByReminderSentFalseAndAppointmentTimeBetween(
+           "WHERE a.employee.id IN :employeeIds " +
+           "AND a.startTime < :endTime AND a.endTime > :startTime " +
+           "AND a.status != :excludeStatus")
+    List<Appointment> findByEmployeeIdInAndAppointmentTimeBetweenAndStatusNot(
+            @Param("employeeIds") Collection<Long> employeeIds,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("excludeStatus") AppointmentStatus excludeStatus);
+    
+    /**
+     * Keyset page of appointments whose reminders fall in the scheduler's load window.
+     */
+    @Query("SELECT a.id AS id, a.startTime AS startTime FROM Appointment a " +
+           "WHERE a.status = :status " +
+           "AND a.startTime > :start AND a.startTime <= :end " +
+           "AND a.id > :afterId ORDER BY a.id")
+    List<ReminderTargetView> findReminderTargets(
             @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end);
+            @Param("end") LocalDateTime end,
+            @Param("status") AppointmentStatus status,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+    
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    @Query("SELECT a FROM Appointment a WHERE a.id = :id")
+    Optional<Appointment> findWithDetailsById(@Param("id") Long id);
     
+    @EntityGraph(Appointment.DETAILS_GRAPH)
     List<Appointment> findByEmployeeId(Long employeeId);
     
+    @EntityGraph(Appointment.DETAILS_GRAPH)
     Page<Appointment> findByEmployeeId(Long employeeId, Pageable pageable);
+    
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    List<Appointment> findByEmployeeIdOrderByStartTimeDescIdDesc(Long employeeId, Pageable pageable);
+    
+    @EntityGraph(Appointment.DETAILS_GRAPH)
+    @Query("SELECT a FROM Appointment a WHERE a.employee.id = :employeeId " +
+           "AND (a.startTime < :startTime OR (a.startTime = :startTime AND a.id < :id)) " +
+           "ORDER BY a.startTime DESC, a.id DESC")
+    List<Appointment> findEmployeePageAfter(
+            @Param("employeeId") Long employeeId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Pageable pageable);
 }
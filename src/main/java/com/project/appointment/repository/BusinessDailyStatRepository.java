@@ -0,0 +1,148 @@
+package com.project.appointment.repository;
+
+import com.project.appointment.entity.BusinessDailyStat;
+import com.project.appointment.repository.projection.DashboardBucketView;
+import com.project.appointment.repository.projection.DashboardRankingView;
+import com.project.appointment.repository.projection.DashboardSummaryView;
+import com.project.appointment.repository.projection.StatsTotalsView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BusinessDailyStatRepository extends JpaRepository<BusinessDailyStat, Long> {
+    
+    /**
+     * Serializes rollup writes for one business until the transaction ends, so a
+     * rebuild's delete-and-insert can't interleave with an incremental delta.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('business_daily_stats'), CAST(:businessId % 2147483647 AS INT))",
+           nativeQuery = true)
+    Integer lockBusiness(@Param("businessId") Long businessId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO business_daily_stats (business_id, stat_date, service_id, employee_id, " +
+           "total_count, pending_count, confirmed_count, completed_count, cancelled_count, no_show_count, " +
+           "paid_revenue, rating_sum, rating_count, updated_at) " +
+           "VALUES (:businessId, :statDate, :serviceId, :employeeId, :countDelta, " +
+           "CASE WHEN :status = 'PENDING' THEN :countDelta ELSE 0 END, " +
+           "CASE WHEN :status = 'CONFIRMED' THEN :countDelta ELSE 0 END, " +
+           "CASE WHEN :status = 'COMPLETED' THEN :countDelta ELSE 0 END, " +
+           "CASE WHEN :status = 'CANCELLED' THEN :countDelta ELSE 0 END, " +
+           "CASE WHEN :status = 'NO_SHOW' THEN :countDelta ELSE 0 END, " +
+           ":revenueDelta, :ratingSumDelta, :ratingCountDelta, CURRENT_TIMESTAMP) " +
+           "ON CONFLICT (business_id, stat_date, service_id, employee_id) DO UPDATE SET " +
+           "total_count = business_daily_stats.total_count + EXCLUDED.total_count, " +
+           "pending_count = business_daily_stats.pending_count + EXCLUDED.pending_count, " +
+           "confirmed_count = business_daily_stats.confirmed_count + EXCLUDED.confirmed_count, " +
+           "completed_count = business_daily_stats.completed_count + EXCLUDED.completed_count, " +
+           "cancelled_count = business_daily_stats.cancelled_count + EXCLUDED.cancelled_count, " +
+           "no_show_count = business_daily_stats.no_show_count + EXCLUDED.no_show_count, " +
+           "paid_revenue = business_daily_stats.paid_revenue + EXCLUDED.paid_revenue, " +
+           "rating_sum = business_daily_stats.rating_sum + EXCLUDED.rating_sum, " +
+           "rating_count = business_daily_stats.rating_count + EXCLUDED.rating_count, " +
+           "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    void applyDelta(
+            @Param("businessId") Long businessId,
+            @Param("statDate") LocalDate statDate,
+            @Param("serviceId") Long serviceId,
+            @Param("employeeId") Long employeeId,
+            @Param("status") String status,
+            @Param("countDelta") int countDelta,
+            @Param("revenueDelta") BigDecimal revenueDelta,
+            @Param("ratingSumDelta") int ratingSumDelta,
+            @Param("ratingCountDelta") int ratingCountDelta);
+    
+    @Modifying
+    @Query(value = "DELETE FROM business_daily_stats WHERE business_id = :businessId", nativeQuery = true)
+    void deleteByBusinessId(@Param("businessId") Long businessId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO business_daily_stats (business_id, stat_date, service_id, employee_id, " +
+           "total_count, pending_count, confirmed_count, completed_count, cancelled_count, no_show_count, " +
+           "paid_revenue, rating_sum, rating_count, updated_at) " +
+           "SELECT a.business_id, CAST(a.start_time AS DATE), COALESCE(a.service_id, 0), COALESCE(a.employee_id, 0), " +
+           "COUNT(*), " +
+           "COUNT(*) FILTER (WHERE a.status = 'PENDING'), " +
+           "COUNT(*) FILTER (WHERE a.status = 'CONFIRMED'), " +
+           "COUNT(*) FILTER (WHERE a.status = 'COMPLETED'), " +
+           "COUNT(*) FILTER (WHERE a.status = 'CANCELLED'), " +
+           "COUNT(*) FILTER (WHERE a.status = 'NO_SHOW'), " +
+           "COALESCE(SUM(a.price) FILTER (WHERE a.payment_status = 'PAID'), 0), " +
+           "COALESCE(SUM(r.rating), 0), COUNT(r.id), CURRENT_TIMESTAMP " +
+           "FROM appointments a LEFT JOIN reviews r ON r.appointment_id = a.id " +
+           "WHERE a.business_id = :businessId " +
+           "GROUP BY a.business_id, CAST(a.start_time AS DATE), COALESCE(a.service_id, 0), COALESCE(a.employee_id, 0)",
+           nativeQuery = true)
+    int rebuildForBusiness(@Param("businessId") Long businessId);
+    
+    @Query(value = "SELECT COALESCE(SUM(s.total_count), 0) AS \"totalAppointments\", " +
+           "COALESCE(SUM(s.total_count) FILTER (WHERE s.stat_date = :today), 0) AS \"todayAppointments\", " +
+           "COALESCE(SUM(s.pending_count), 0) AS \"pendingAppointments\", " +
+           "COALESCE(SUM(s.confirmed_count), 0) AS \"confirmedAppointments\", " +
+           "COALESCE(SUM(s.completed_count), 0) AS \"completedAppointments\", " +
+           "COALESCE(SUM(s.cancelled_count), 0) AS \"cancelledAppointments\", " +
+           "COALESCE(SUM(s.no_show_count), 0) AS \"noShowAppointments\", " +
+           "COALESCE(SUM(s.paid_revenue), 0) AS \"totalRevenue\", " +
+           "COALESCE(SUM(s.paid_revenue) FILTER (WHERE s.stat_date >= :monthStart AND s.stat_date < :today), 0) " +
+           "AS \"monthlyRevenue\", " +
+           "COALESCE(SUM(s.rating_sum), 0) AS \"ratingSum\", " +
+           "COALESCE(SUM(s.rating_count), 0) AS \"ratingCount\" " +
+           "FROM business_daily_stats s WHERE s.business_id = :businessId",
+           nativeQuery = true)
+    DashboardSummaryView getDashboardSummary(
+            @Param("businessId") Long businessId,
+            @Param("today") LocalDate today,
+            @Param("monthStart") LocalDate monthStart);
+    
+    @Query(value = "SELECT TO_CHAR(s.stat_date, 'YYYY-MM-DD') AS \"bucket\", SUM(s.total_count) AS \"appointments\" " +
+           "FROM business_daily_stats s WHERE s.business_id = :businessId " +
+           "AND s.stat_date >= :from AND s.stat_date <= :to " +
+           "GROUP BY s.stat_date",
+           nativeQuery = true)
+    List<DashboardBucketView> getDailyAppointments(
+            @Param("businessId") Long businessId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+    
+    @Query(value = "SELECT 'SERVICE' AS \"kind\", sv.name AS \"name\", " +
+           "COALESCE(SUM(s.total_count), 0) AS \"appointments\", " +
+           "sv.price * COALESCE(SUM(s.total_count), 0) AS \"amount\", " +
+           "CAST(NULL AS DOUBLE PRECISION) AS \"rating\" " +
+           "FROM services sv LEFT JOIN business_daily_stats s " +
+           "ON s.business_id = sv.business_id AND s.service_id = sv.id " +
+           "WHERE sv.business_id = :businessId AND sv.is_active = true " +
+           "GROUP BY sv.id, sv.name, sv.price " +
+           "UNION ALL " +
+           "SELECT 'EMPLOYEE', e.name, COALESCE(SUM(s.total_count), 0), COALESCE(SUM(s.paid_revenue), 0), " +
+           "CAST(SUM(s.rating_sum) AS DOUBLE PRECISION) / NULLIF(SUM(s.rating_count), 0) " +
+           "FROM employees e LEFT JOIN business_daily_stats s " +
+           "ON s.business_id = e.business_id AND s.employee_id = e.id " +
+           "WHERE e.business_id = :businessId AND e.is_active = true " +
+           "GROUP BY e.id, e.name",
+           nativeQuery = true)
+    List<DashboardRankingView> getDashboardRankings(@Param("businessId") Long businessId);
+    
+    @Query(value = "SELECT COALESCE(SUM(s.total_count), 0) AS \"totalAppointments\", " +
+           "COALESCE(SUM(s.paid_revenue), 0) AS \"totalRevenue\", " +
+           "COALESCE(SUM(s.rating_sum), 0) AS \"ratingSum\", " +
+           "COALESCE(SUM(s.rating_count), 0) AS \"ratingCount\" " +
+           "FROM business_daily_stats s WHERE s.business_id = :businessId",
+           nativeQuery = true)
+    StatsTotalsView getBusinessTotals(@Param("businessId") Long businessId);
+    
+    @Query(value = "SELECT COALESCE(SUM(s.total_count), 0) AS \"totalAppointments\", " +
+           "COALESCE(SUM(s.paid_revenue), 0) AS \"totalRevenue\", " +
+           "COALESCE(SUM(s.rating_sum), 0) AS \"ratingSum\", " +
+           "COALESCE(SUM(s.rating_count), 0) AS \"ratingCount\" " +
+           "FROM business_daily_stats s WHERE s.employee_id = :employeeId",
+           nativeQuery = true)
+    StatsTotalsView getEmployeeTotals(@Param("employeeId") Long employeeId);
+}
@@ -4,10 +4,12 @@ import com.project.appointment.entity.Business;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,14 +21,74 @@ public interface BusinessRepository extends JpaRepository<Business, Long> {
     
     Page<Business> findByIsActiveTrue(Pageable pageable);
     
+    List<Business> findByIsActiveTrueOrderByNameAscIdAsc(Pageable pageable);
+    
+    /**
+     * Keyset page of active businesses after ({@code name}, {@code id}) in name order.
+     */
+    @Query("SELECT b FROM Business b WHERE b.isActive = true " +
+           "AND (b.name > :name OR (b.name = :name AND b.id > :id)) " +
+           "ORDER BY b.name, b.id")
+    List<Business> findActivePageAfter(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+    
     Page<Business> findByCityAndIsActiveTrue(String city, Pageable pageable);
     
     Page<Business> findByCategoryAndIsActiveTrue(String category, Pageable pageable);
     
-    @Query("SELECT b FROM Business b WHERE " +
-           "(LOWER(b.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-           "OR LOWER(b.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
-           "AND b.isActive = true")
-    Page<Business> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    List<Business> findByIsActiveTrueAndLatitudeIsNotNullAndLongitudeIsNotNull();
+    
+    /**
+     * Active businesses inside a lat/lon box (served by idx_business_lat_lon); callers filter by exact distance.
+     */
+    @Query("SELECT b FROM Business b WHERE b.isActive = true " +
+           "AND b.latitude BETWEEN :minLat AND :maxLat " +
+           "AND b.longitude BETWEEN :minLon AND :maxLon " +
+           "AND (:category IS NULL OR LOWER(b.category) = LOWER(:category))")
+    List<Business> findActiveInBoundingBox(@Param("minLat") double minLat, @Param("maxLat") double maxLat,
+                                           @Param("minLon") double minLon, @Param("maxLon") double maxLon,
+                                           @Param("category") String category);
+    
+    @Modifying
+    @Query("UPDATE Business b SET b.ratingSum = b.ratingSum + :ratingDelta, " +
+           "b.ratingCount = b.ratingCount + :countDelta WHERE b.id = :id")
+    int adjustRating(@Param("id") Long id, @Param("ratingDelta") long ratingDelta, @Param("countDelta") int countDelta);
+    
+    @Modifying
+    @Query("UPDATE Business b SET b.favoriteCount = b.favoriteCount + :delta WHERE b.id = :id")
+    int adjustFavoriteCount(@Param("id") Long id, @Param("delta") int delta);
+    
+    /**
+     * Recomputes every business's counters from reviews and favorites; returns the rows that had drifted.
+     */
+    @Modifying
+    @Query(value = "UPDATE businesses b SET rating_sum = c.rating_sum, rating_count = c.rating_count, " +
+           "favorite_count = c.favorite_count " +
+           "FROM (SELECT x.id, " +
+           "COALESCE((SELECT SUM(r.rating) FROM reviews r WHERE r.business_id = x.id), 0) AS rating_sum, " +
+           "(SELECT COUNT(*) FROM reviews r WHERE r.business_id = x.id) AS rating_count, " +
+           "(SELECT COUNT(*) FROM favorites f WHERE f.business_id = x.id) AS favorite_count " +
+           "FROM businesses x) c " +
+           "WHERE b.id = c.id AND (b.rating_sum <> c.rating_sum OR b.rating_count <> c.rating_count " +
+           "OR b.favorite_count <> c.favorite_count)",
+           nativeQuery = true)
+    int repairCounters();
+    
+    /**
+     * Relevance-ranked search over the weighted search_vector (prefix matches,
+     * {@code tsQuery} like "kuaför:* & ist:*") plus trigram similarity on the name
+     * so misspelled names still match.
+     */
+    @Query(value = "SELECT b.* FROM businesses b " +
+           "WHERE b.is_active = true " +
+           "AND (b.search_vector @@ to_tsquery('simple', :tsQuery) OR LOWER(b.name) % LOWER(:keyword)) " +
+           "ORDER BY ts_rank_cd(b.search_vector, to_tsquery('simple', :tsQuery)) " +
+           "+ similarity(LOWER(b.name), LOWER(:keyword)) DESC, b.id",
+           countQuery = "SELECT COUNT(*) FROM businesses b " +
+           "WHERE b.is_active = true " +
+           "AND (b.search_vector @@ to_tsquery('simple', :tsQuery) OR LOWER(b.name) % LOWER(:keyword))",
+           nativeQuery = true)
+    Page<Business> searchRanked(@Param("tsQuery") String tsQuery,
+                                @Param("keyword") String keyword,
+                                Pageable pageable);
 }
 
@@ -0,0 +1,66 @@
+package com.project.appointment.repository;
+
+import com.project.appointment.entity.EmailOutbox;
+import com.project.appointment.entity.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    
+    /**
+     * Locks up to {@code limit} due messages, skipping rows another node has
+     * already locked. Must run inside a transaction.
+     */
+    @Query(value = "SELECT * FROM email_outbox " +
+           "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+           "AND (locked_until IS NULL OR locked_until < :now) " +
+           "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<EmailOutbox> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.sentAt = :sentAt, e.lockedUntil = null, " +
+           "e.lastError = null WHERE e.id = :id")
+    void markSent(@Param("id") Long id,
+                  @Param("status") EmailOutboxStatus status,
+                  @Param("sentAt") LocalDateTime sentAt);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, " +
+           "e.lockedUntil = null, e.lastError = :error WHERE e.id = :id")
+    void markFailed(@Param("id") Long id,
+                    @Param("status") EmailOutboxStatus status,
+                    @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                    @Param("error") String error);
+    
+    /**
+     * Hands back messages claimed but never sent, attempt included.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.lockedUntil = null, e.attempts = e.attempts - 1 WHERE e.id IN :ids")
+    void releaseClaim(@Param("ids") Collection<Long> ids);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = :status AND e.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(@Param("status") EmailOutboxStatus status,
+                                      @Param("before") LocalDateTime before);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = :status AND e.createdAt < :before")
+    int deleteByStatusAndCreatedAtBefore(@Param("status") EmailOutboxStatus status,
+                                         @Param("before") LocalDateTime before);
+}
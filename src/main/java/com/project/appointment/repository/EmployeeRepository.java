@@ -2,6 +2,7 @@ package com.project.appointment.repository;
 
 import com.project.appointment.entity.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -25,6 +26,21 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.employee.id = :employeeId")
     Double getAverageRatingByEmployeeId(@Param("employeeId") Long employeeId);
     
+    @Modifying
+    @Query("UPDATE Employee e SET e.ratingSum = e.ratingSum + :ratingDelta, " +
+           "e.ratingCount = e.ratingCount + :countDelta WHERE e.id = :id")
+    int adjustRating(@Param("id") Long id, @Param("ratingDelta") long ratingDelta, @Param("countDelta") int countDelta);
+    
+    @Modifying
+    @Query(value = "UPDATE employees e SET rating_sum = c.rating_sum, rating_count = c.rating_count " +
+           "FROM (SELECT x.id, " +
+           "COALESCE((SELECT SUM(r.rating) FROM reviews r WHERE r.employee_id = x.id), 0) AS rating_sum, " +
+           "(SELECT COUNT(*) FROM reviews r WHERE r.employee_id = x.id) AS rating_count " +
+           "FROM employees x) c " +
+           "WHERE e.id = c.id AND (e.rating_sum <> c.rating_sum OR e.rating_count <> c.rating_count)",
+           nativeQuery = true)
+    int repairRatings();
+    
     @Query("SELECT COALESCE(SUM(a.price), 0) FROM Appointment a " +
            "WHERE a.employee.id = :employeeId AND a.paymentStatus = 'PAID'")
     Double getTotalEarningsByEmployeeId(@Param("employeeId") Long employeeId);
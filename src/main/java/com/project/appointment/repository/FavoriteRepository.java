@@ -3,6 +3,7 @@ package com.project.appointment.repository;
 import com.project.appointment.entity.Favorite;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,6 +20,7 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     
     Page<Favorite> findByUserId(Long userId, Pageable pageable);
     
+    @EntityGraph(attributePaths = "business")
     java.util.List<Favorite> findByUserId(Long userId);
     
     void deleteByUserIdAndBusinessId(Long userId, Long businessId);
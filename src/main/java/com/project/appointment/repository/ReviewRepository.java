@@ -3,11 +3,13 @@ package com.project.appointment.repository;
 import com.project.appointment.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,12 +22,38 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     
     Page<Review> findByBusinessId(Long businessId, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"customer", "employee"})
+    List<Review> findByBusinessIdOrderByCreatedAtDescIdDesc(Long businessId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"customer", "employee"})
+    @Query("SELECT r FROM Review r WHERE r.business.id = :businessId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findBusinessPageAfter(
+            @Param("businessId") Long businessId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+    
     Page<Review> findByEmployeeId(Long employeeId, Pageable pageable);
     
     Page<Review> findByCustomerId(Long customerId, Pageable pageable);
     
     List<Review> findByCustomerId(Long customerId);
     
+    @EntityGraph(attributePaths = {"customer", "employee"})
+    List<Review> findByCustomerIdOrderByCreatedAtDescIdDesc(Long customerId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"customer", "employee"})
+    @Query("SELECT r FROM Review r WHERE r.customer.id = :customerId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findCustomerPageAfter(
+            @Param("customerId") Long customerId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+    
     Long countByBusinessId(Long businessId);
     
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.business.id = :businessId")
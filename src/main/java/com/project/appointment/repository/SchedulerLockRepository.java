@@ -0,0 +1,38 @@
+package com.project.appointment.repository;
+
+import com.project.appointment.entity.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+    
+    /**
+     * Takes the lock if it is free or its lease has expired; returns 1 when acquired.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_locks (name, locked_until, locked_by, locked_at) " +
+           "VALUES (:name, :lockedUntil, :owner, :now) " +
+           "ON CONFLICT (name) DO UPDATE SET locked_until = EXCLUDED.locked_until, " +
+           "locked_by = EXCLUDED.locked_by, locked_at = EXCLUDED.locked_at " +
+           "WHERE scheduler_locks.locked_until <= :now",
+           nativeQuery = true)
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("now") LocalDateTime now,
+                   @Param("lockedUntil") LocalDateTime lockedUntil);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now);
+}
@@ -5,6 +5,7 @@ import com.project.appointment.entity.WorkSchedule;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,8 @@ public interface WorkScheduleRepository extends JpaRepository<WorkSchedule, Long
     
     List<WorkSchedule> findByEmployeeId(Long employeeId);
     
+    List<WorkSchedule> findByEmployeeIdIn(Collection<Long> employeeIds);
+    
     Optional<WorkSchedule> findByEmployeeIdAndDayOfWeek(Long employeeId, DayOfWeek dayOfWeek);
     
     boolean existsByEmployeeIdAndDayOfWeek(Long employeeId, DayOfWeek dayOfWeek);
@@ -0,0 +1,9 @@
+package com.project.appointment.repository.projection;
+
+/**
+ * Appointment count for one day; bucket is the ISO date.
+ */
+public interface DashboardBucketView {
+    String getBucket();
+    Long getAppointments();
+}
@@ -0,0 +1,15 @@
+package com.project.appointment.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-service or per-employee figures; kind is SERVICE (amount = revenue)
+ * or EMPLOYEE (amount = paid earnings, rating = average review rating).
+ */
+public interface DashboardRankingView {
+    String getKind();
+    String getName();
+    Long getAppointments();
+    BigDecimal getAmount();
+    Double getRating();
+}
@@ -0,0 +1,17 @@
+package com.project.appointment.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface DashboardSummaryView {
+    Long getTotalAppointments();
+    Long getTodayAppointments();
+    Long getPendingAppointments();
+    Long getConfirmedAppointments();
+    Long getCompletedAppointments();
+    Long getCancelledAppointments();
+    Long getNoShowAppointments();
+    BigDecimal getTotalRevenue();
+    BigDecimal getMonthlyRevenue();
+    Long getRatingSum();
+    Long getRatingCount();
+}
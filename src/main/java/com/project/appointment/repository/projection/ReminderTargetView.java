@@ -0,0 +1,8 @@
+package com.project.appointment.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface ReminderTargetView {
+    Long getId();
+    LocalDateTime getStartTime();
+}
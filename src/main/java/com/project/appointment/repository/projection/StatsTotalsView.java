@@ -0,0 +1,10 @@
+package com.project.appointment.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface StatsTotalsView {
+    Long getTotalAppointments();
+    BigDecimal getTotalRevenue();
+    Long getRatingSum();
+    Long getRatingCount();
+}
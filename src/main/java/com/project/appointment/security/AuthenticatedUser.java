@@ -0,0 +1,17 @@
+package com.project.appointment.security;
+
+import com.project.appointment.entity.Role;
+
+import java.security.Principal;
+
+/**
+ * Principal built from verified access token claims, so authenticated requests
+ * don't need to load the user row.
+ */
+public record AuthenticatedUser(Long userId, String email, Role role) implements Principal {
+    
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,12 +1,16 @@
 package com.project.appointment.security;
 
+import com.project.appointment.entity.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,6 +19,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -22,6 +28,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
+    
+    @Value("${jwt.stateless-auth:true}")
+    private boolean statelessAuth;
     
     @Override
     protected void doFilterInternal(
@@ -29,33 +39,55 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
-        final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
+        final Claims claims = jwtService.resolveClaims(request);
         
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (claims == null || claims.getSubject() == null
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
         
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
-        
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            
-            if (jwtService.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (!statelessAuth || !authenticateFromClaims(claims, request)) {
+            // Signature and expiry are already verified by the parser
+            UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails,
+                    null,
+                    userDetails.getAuthorities()
+            );
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         
         filterChain.doFilter(request, response);
     }
+    
+    /**
+     * Builds the authentication from the verified token claims. Returns false
+     * when the token carries no userId/role claims (e.g. refresh tokens), in
+     * which case the user row is loaded instead.
+     */
+    private boolean authenticateFromClaims(Claims claims, HttpServletRequest request) {
+        Long userId = claims.get("userId", Long.class);
+        String roleClaim = claims.get("role", String.class);
+        if (userId == null || roleClaim == null) {
+            return false;
+        }
+        
+        // Current role from the short-lived cache wins over the token claim
+        Optional<Role> role = userStatusCache.currentRole(userId);
+        if (role.isEmpty()) {
+            return true;
+        }
+        
+        AuthenticatedUser principal = new AuthenticatedUser(userId, claims.getSubject(), role.get());
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role.get().name()))
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        return true;
+    }
 }
-
@@ -2,11 +2,13 @@ package com.project.appointment.security;
 
 import com.project.appointment.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -14,11 +16,13 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Service
 public class JwtService {
     
+    /** Request attribute holding the verified claims, so a token is parsed once per request. */
+    public static final String CLAIMS_ATTRIBUTE = JwtService.class.getName() + ".claims";
+    
     @Value("${jwt.secret}")
     private String secret;
     
@@ -28,37 +32,23 @@ public class JwtService {
     @Value("${jwt.refresh-token-expiration}")
     private Long refreshTokenExpiration;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
-    }
-    
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-    
-    public Long extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("userId", Long.class));
-    }
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
     
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
     
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-    
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private SecretKey getSigningKey() {
+        return signingKey;
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Claims extractAllClaims(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
     
     public String generateAccessToken(User user) {
@@ -84,11 +74,6 @@ public class JwtService {
                 .compact();
     }
     
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-    
     // Helper method to resolve token from HTTP request
     public String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
@@ -98,13 +83,24 @@ public class JwtService {
         return null;
     }
     
-    public Long getUserIdFromToken(String token) {
-        if (token == null || token.isEmpty()) {
+    /**
+     * Verified claims of the request's bearer token, parsed at most once per
+     * request; null when the request has no valid token.
+     */
+    public Claims resolveClaims(HttpServletRequest request) {
+        Object cached = request.getAttribute(CLAIMS_ATTRIBUTE);
+        if (cached instanceof Claims claims) {
+            return claims;
+        }
+        String token = resolveToken(request);
+        if (token == null) {
             return null;
         }
         try {
-            return extractUserId(token);
-        } catch (Exception e) {
+            Claims claims = extractAllClaims(token);
+            request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
             return null;
         }
     }
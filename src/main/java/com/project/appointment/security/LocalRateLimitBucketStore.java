@@ -0,0 +1,45 @@
+package com.project.appointment.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process buckets. Bucket4j's local buckets update their state with CAS, so
+ * concurrent requests never block each other; Caffeine bounds the number of
+ * tracked clients and drops buckets idle long enough to have refilled anyway.
+ */
+public class LocalRateLimitBucketStore implements RateLimitBucketStore {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalRateLimitBucketStore(List<RateLimitProperties.Policy> policies, long maxBuckets) {
+        Duration idle = policies.stream()
+                .map(RateLimitProperties.Policy::fullRefillTime)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idle)
+                .build();
+    }
+
+    @Override
+    public Decision tryConsume(String key, RateLimitProperties.Policy policy) {
+        Bucket bucket = buckets.get(key, k -> Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(policy.getCapacity())
+                        .refillGreedy(policy.getRefillTokens(), policy.getRefillPeriod())
+                        .build())
+                .build());
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        long retryAfter = probe.isConsumed() ? 0 : TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999L);
+        return new Decision(probe.isConsumed(), probe.getRemainingTokens(), retryAfter);
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.appointment.security;
+
+/**
+ * Token buckets keyed by policy and client. Each call takes one token.
+ */
+public interface RateLimitBucketStore {
+
+    Decision tryConsume(String key, RateLimitProperties.Policy policy);
+
+    record Decision(boolean allowed, long remaining, long retryAfterSeconds) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.project.appointment.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.appointment.dto.response.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the first matching {@link RateLimitProperties.Policy} to each request.
+ * Runs after JWT authentication so per-user policies can key on the user id.
+ * Rejected requests get 429 with Retry-After and are counted per policy in
+ * the {@code rate_limit.rejected} metric.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final RateLimitBucketStore bucketStore;
+    private final ObjectMapper objectMapper;
+    private final List<CompiledPolicy> policies;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimitBucketStore bucketStore,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bucketStore = bucketStore;
+        this.objectMapper = objectMapper;
+        this.policies = properties.getPolicies().stream()
+                .map(policy -> compile(policy, meterRegistry))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || policies.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        CompiledPolicy policy = match(request);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String clientKey = clientKey(request, policy.policy().getKey());
+        RateLimitBucketStore.Decision decision = bucketStore.tryConsume(
+                policy.policy().getName() + ":" + clientKey, policy.policy());
+        response.setHeader("X-RateLimit-Limit", String.valueOf(policy.policy().getCapacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        policy.rejected().increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, decision.retryAfterSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(),
+                ApiResponse.error("Çok fazla istek gönderildi. Lütfen daha sonra tekrar deneyin."));
+    }
+
+    private CompiledPolicy match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        String method = request.getMethod();
+        for (CompiledPolicy policy : policies) {
+            if ((policy.methods().isEmpty() || policy.methods().contains(method))
+                    && policy.patterns().stream().anyMatch(pattern -> pattern.matches(path))) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request, RateLimitProperties.KeyType keyType) {
+        if (keyType == RateLimitProperties.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return authentication.getPrincipal() instanceof AuthenticatedUser user
+                        ? "user:" + user.userId()
+                        : "user:" + authentication.getName();
+            }
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                // The rightmost entry is the one appended by our proxy; earlier ones are client-supplied
+                return forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static CompiledPolicy compile(RateLimitProperties.Policy policy, MeterRegistry meterRegistry) {
+        List<PathPattern> patterns = policy.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        Set<String> methods = policy.getMethods().stream()
+                .map(method -> method.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        Counter rejected = Counter.builder("rate_limit.rejected")
+                .description("Requests rejected by a rate limit policy")
+                .tag("policy", policy.getName())
+                .register(meterRegistry);
+        return new CompiledPolicy(policy, patterns, methods, rejected);
+    }
+
+    private record CompiledPolicy(RateLimitProperties.Policy policy, List<PathPattern> patterns,
+                                  Set<String> methods, Counter rejected) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.appointment.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route-based rate limit policies from {@code app.rate-limit}. Policies are
+ * tried in order and the first whose paths (and methods, if set) match the
+ * request applies; unmatched requests are not limited.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Keep buckets in Redis so the limit is shared by every node. */
+    private boolean distributed = false;
+
+    /** Take the client address from X-Forwarded-For; only safe behind a trusted proxy. */
+    private boolean trustForwardedFor = false;
+
+    private long maxLocalBuckets = 100_000;
+
+    private List<Policy> policies = new ArrayList<>();
+
+    /**
+     * Fails startup on an unusable policy; a missing refill amount defaults to the capacity.
+     */
+    public void validate() {
+        for (Policy policy : policies) {
+            if (policy.getName() == null || policy.getPaths().isEmpty()) {
+                throw new IllegalStateException("Rate limit policy needs a name and at least one path");
+            }
+            if (policy.getCapacity() <= 0 || policy.getRefillPeriod().isZero() || policy.getRefillPeriod().isNegative()) {
+                throw new IllegalStateException("Rate limit policy '" + policy.getName()
+                        + "' needs a positive capacity and refill period");
+            }
+            if (policy.getRefillTokens() <= 0) {
+                policy.setRefillTokens(policy.getCapacity());
+            }
+        }
+    }
+
+    public enum KeyType {
+        /** One bucket per client address. */
+        IP,
+        /** One bucket per authenticated user; anonymous requests fall back to the client address. */
+        USER
+    }
+
+    @Data
+    public static class Policy {
+        private String name;
+        private List<String> paths = new ArrayList<>();
+        private List<String> methods = new ArrayList<>();
+        private KeyType key = KeyType.IP;
+        private long capacity;
+        private long refillTokens;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        /** Time for an empty bucket to fill up again; an idle bucket older than this equals a new one. */
+        public Duration fullRefillTime() {
+            return refillPeriod.multipliedBy((capacity + refillTokens - 1) / refillTokens);
+        }
+    }
+}
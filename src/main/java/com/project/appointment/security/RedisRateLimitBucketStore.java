@@ -0,0 +1,81 @@
+package com.project.appointment.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Buckets shared by all nodes through Redis. Refill and consume run in one Lua
+ * script against a hash of {tokens, ts}, timed by the Redis clock so node clock
+ * skew doesn't matter. If Redis fails, requests are limited by the local store
+ * for a short back-off instead of being rejected or let through unchecked.
+ */
+@Slf4j
+public class RedisRateLimitBucketStore implements RateLimitBucketStore {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+    private static final long RETRY_AFTER_FAILURE_MILLIS = 30_000;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local refill_tokens = tonumber(ARGV[2])
+            local period_ms = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil or ts == nil then
+                tokens = capacity
+                ts = now
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_tokens / period_ms)
+            local allowed = 0
+            local wait_ms = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            else
+                wait_ms = math.ceil((1 - tokens) * period_ms / refill_tokens)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * period_ms / refill_tokens) + 1000)
+            return {allowed, math.floor(tokens), wait_ms}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitBucketStore fallback;
+    private volatile long redisRetryAt;
+
+    public RedisRateLimitBucketStore(RedisConnectionFactory connectionFactory, RateLimitBucketStore fallback) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Decision tryConsume(String key, RateLimitProperties.Policy policy) {
+        if (System.currentTimeMillis() < redisRetryAt) {
+            return fallback.tryConsume(key, policy);
+        }
+        try {
+            List<?> result = redisTemplate.execute(TOKEN_BUCKET, List.of(KEY_PREFIX + key),
+                    String.valueOf(policy.getCapacity()),
+                    String.valueOf(policy.getRefillTokens()),
+                    String.valueOf(policy.getRefillPeriod().toMillis()));
+            long waitMillis = ((Number) result.get(2)).longValue();
+            return new Decision(((Number) result.get(0)).longValue() == 1,
+                    ((Number) result.get(1)).longValue(),
+                    (waitMillis + 999) / 1000);
+        } catch (RuntimeException e) {
+            redisRetryAt = System.currentTimeMillis() + RETRY_AFTER_FAILURE_MILLIS;
+            log.warn("Redis rate limiting unavailable, using local buckets for {}s: {}",
+                    RETRY_AFTER_FAILURE_MILLIS / 1000, e.getMessage());
+            return fallback.tryConsume(key, policy);
+        }
+    }
+}
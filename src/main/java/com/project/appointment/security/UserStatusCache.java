@@ -0,0 +1,52 @@
+package com.project.appointment.security;
+
+import com.project.appointment.entity.Role;
+import com.project.appointment.entity.User;
+import com.project.appointment.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived local view of each user's current role, used by stateless JWT
+ * authentication to notice deleted users and role changes without reading the
+ * users table on every request. An empty result means the user no longer exists.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStatusCache {
+    
+    private static final int MAX_ENTRIES = 10_000;
+    
+    private final UserRepository userRepository;
+    
+    @Value("${jwt.user-status-ttl-seconds:60}")
+    private long ttlSeconds;
+    
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    
+    public Optional<Role> currentRole(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry == null || entry.expiresAt() < now) {
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+            Role role = userRepository.findById(userId).map(User::getRole).orElse(null);
+            entry = new Entry(role, now + ttlSeconds * 1000);
+            entries.put(userId, entry);
+        }
+        return Optional.ofNullable(entry.role());
+    }
+    
+    public void evict(Long userId) {
+        entries.remove(userId);
+    }
+    
+    private record Entry(Role role, long expiresAt) {
+    }
+}
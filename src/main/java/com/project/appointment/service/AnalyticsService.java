@@ -2,11 +2,12 @@ package com.project.appointment.service;
 
 import com.project.appointment.exception.BusinessException;
 import com.project.appointment.repository.*;
+import com.project.appointment.repository.projection.StatsTotalsView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -16,9 +17,9 @@ import java.util.Map;
 public class AnalyticsService {
     
     private final BusinessRepository businessRepository;
-    private final AppointmentRepository appointmentRepository;
-    private final ReviewRepository reviewRepository;
+    private final BusinessDailyStatRepository statRepository;
     
+    @Transactional(readOnly = true)
     public Map<String, Object> getBusinessAnalytics(Long businessId, Long ownerId) {
         // Verify ownership
         var business = businessRepository.findById(businessId)
@@ -28,43 +29,30 @@ public class AnalyticsService {
             throw new BusinessException("You don't have permission to view analytics for this business");
         }
         
-        Map<String, Object> analytics = new HashMap<>();
-        
-        // Total appointments
-        Long totalAppointments = appointmentRepository.countByBusinessId(businessId);
-        analytics.put("totalAppointments", totalAppointments);
-        
-        // Total revenue
-        BigDecimal totalRevenue = appointmentRepository.getTotalRevenueByBusinessId(businessId);
-        analytics.put("totalRevenue", totalRevenue != null ? totalRevenue : BigDecimal.ZERO);
+        StatsTotalsView totals = statRepository.getBusinessTotals(businessId);
         
-        // Average rating
-        Double avgRating = reviewRepository.getAverageRatingByBusinessId(businessId);
-        analytics.put("averageRating", avgRating != null ? avgRating : 0.0);
-        
-        // Total reviews
-        Long totalReviews = reviewRepository.countByBusinessId(businessId);
-        analytics.put("totalReviews", totalReviews);
+        Map<String, Object> analytics = new HashMap<>();
+        analytics.put("totalAppointments", totals.getTotalAppointments());
+        analytics.put("totalRevenue", totals.getTotalRevenue());
+        analytics.put("averageRating", averageRating(totals));
+        analytics.put("totalReviews", totals.getRatingCount());
         
         return analytics;
     }
     
+    @Transactional(readOnly = true)
     public Map<String, Object> getEmployeeAnalytics(Long employeeId) {
-        Map<String, Object> analytics = new HashMap<>();
+        StatsTotalsView totals = statRepository.getEmployeeTotals(employeeId);
         
-        // Total appointments
-        Long totalAppointments = appointmentRepository.countByEmployeeId(employeeId);
-        analytics.put("totalAppointments", totalAppointments);
-        
-        // Total earnings
-        BigDecimal totalEarnings = appointmentRepository.getTotalEarningsByEmployeeId(employeeId);
-        analytics.put("totalEarnings", totalEarnings != null ? totalEarnings : BigDecimal.ZERO);
-        
-        // Average rating
-        Double avgRating = reviewRepository.getAverageRatingByEmployeeId(employeeId);
-        analytics.put("averageRating", avgRating != null ? avgRating : 0.0);
+        Map<String, Object> analytics = new HashMap<>();
+        analytics.put("totalAppointments", totals.getTotalAppointments());
+        analytics.put("totalEarnings", totals.getTotalRevenue());
+        analytics.put("averageRating", averageRating(totals));
         
         return analytics;
     }
+    
+    private Double averageRating(StatsTotalsView totals) {
+        return totals.getRatingCount() > 0 ? (double) totals.getRatingSum() / totals.getRatingCount() : 0.0;
+    }
 }
-
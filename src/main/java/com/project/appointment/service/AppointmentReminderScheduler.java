@@ -0,0 +1,246 @@
+package com.project.appointment.service;
+
+import com.project.appointment.entity.Appointment;
+import com.project.appointment.entity.AppointmentStatus;
+import com.project.appointment.repository.AppointmentReminderRepository;
+import com.project.appointment.repository.AppointmentRepository;
+import com.project.appointment.repository.projection.ReminderTargetView;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends appointment reminders at their exact offsets (e.g. 24h and 2h before
+ * start) from an in-memory {@link HierarchicalTimingWheel}. Confirmed
+ * appointments are loaded at startup and re-read periodically; confirmations and
+ * cancellations update the wheel after commit. Every node keeps its own wheel,
+ * and appointment_reminders records what was sent so a reminder goes out once.
+ */
+@Component
+@Slf4j
+public class AppointmentReminderScheduler {
+
+    private static final int WHEEL_SIZE = 60;
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentReminderRepository reminderRepository;
+    private final EmailOutboxService emailOutboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
+
+    @Value("${app.reminders.offsets:24h,2h}")
+    private String[] offsetSpecs;
+
+    @Value("${app.reminders.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${app.reminders.reconcile-minutes:15}")
+    private long reconcileMinutes;
+
+    @Value("${app.reminders.chunk-size:200}")
+    private int chunkSize;
+
+    private List<Duration> offsets;
+    private HierarchicalTimingWheel<Reminder> wheel;
+    private ScheduledExecutorService ticker;
+
+    public AppointmentReminderScheduler(AppointmentRepository appointmentRepository,
+                                        AppointmentReminderRepository reminderRepository,
+                                        EmailOutboxService emailOutboxService,
+                                        TransactionTemplate transactionTemplate,
+                                        @Qualifier("taskExecutor") Executor taskExecutor) {
+        this.appointmentRepository = appointmentRepository;
+        this.reminderRepository = reminderRepository;
+        this.emailOutboxService = emailOutboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @PostConstruct
+    void init() {
+        offsets = Arrays.stream(offsetSpecs)
+                .map(String::trim)
+                .map(DurationStyle::detectAndParse)
+                .distinct()
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        wheel = new HierarchicalTimingWheel<>(tickMillis, WHEEL_SIZE, System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Schedules or drops the appointment's reminders once the current transaction commits.
+     */
+    public void sync(Appointment appointment) {
+        Long appointmentId = appointment.getId();
+        LocalDateTime startTime = appointment.getStartTime();
+        boolean active = appointment.getStatus() == AppointmentStatus.CONFIRMED;
+        afterCommit(() -> {
+            if (active) {
+                schedule(appointmentId, startTime, LocalDateTime.now().minusMinutes(reconcileMinutes));
+            } else {
+                cancel(appointmentId);
+            }
+        });
+    }
+
+    /**
+     * Loads confirmed appointments whose reminders are due before the next run.
+     * Reminders up to one interval overdue (e.g. missed while the node was down)
+     * are still sent; already-sent ones are filtered by appointment_reminders.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.reminders.reconcile-minutes:15}",
+               initialDelayString = "${app.reminders.reconcile-minutes:15}",
+               timeUnit = TimeUnit.MINUTES)
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime notBefore = now.minusMinutes(reconcileMinutes);
+        LocalDateTime horizon = now.plus(offsets.get(0)).plusMinutes(reconcileMinutes);
+        try {
+            long afterId = 0L;
+            int loaded = 0;
+            List<ReminderTargetView> chunk;
+            do {
+                chunk = appointmentRepository.findReminderTargets(now, horizon, AppointmentStatus.CONFIRMED,
+                        afterId, PageRequest.of(0, chunkSize));
+                for (ReminderTargetView target : chunk) {
+                    schedule(target.getId(), target.getStartTime(), notBefore);
+                }
+                loaded += chunk.size();
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).getId();
+                }
+            } while (chunk.size() == chunkSize);
+            log.info("Reminder wheel reconciled: {} appointments loaded, {} reminders pending", loaded, pending());
+        } catch (Exception e) {
+            log.error("Failed to reconcile appointment reminders", e);
+        }
+    }
+
+    private void schedule(Long appointmentId, LocalDateTime startTime, LocalDateTime notBefore) {
+        for (Duration offset : offsets) {
+            LocalDateTime sendAt = startTime.minus(offset);
+            if (sendAt.isBefore(notBefore)) {
+                continue;
+            }
+            Reminder reminder = new Reminder(appointmentId, (int) offset.toMinutes());
+            boolean scheduled;
+            synchronized (this) {
+                scheduled = wheel.schedule(reminder.key(), toEpochMilli(sendAt), reminder);
+            }
+            if (!scheduled) {
+                taskExecutor.execute(() -> send(reminder));
+            }
+        }
+    }
+
+    private synchronized void cancel(Long appointmentId) {
+        for (Duration offset : offsets) {
+            wheel.cancel(new Reminder(appointmentId, (int) offset.toMinutes()).key());
+        }
+    }
+
+    private synchronized int pending() {
+        return wheel.size();
+    }
+
+    private void tick() {
+        try {
+            List<Reminder> due;
+            synchronized (this) {
+                due = wheel.advance(System.currentTimeMillis());
+            }
+            for (Reminder reminder : due) {
+                taskExecutor.execute(() -> send(reminder));
+            }
+        } catch (Exception e) {
+            log.error("Reminder wheel tick failed", e);
+        }
+    }
+
+    private void send(Reminder reminder) {
+        try {
+            Boolean queued = transactionTemplate.execute(status -> {
+                Appointment appointment = appointmentRepository.findWithDetailsById(reminder.appointmentId())
+                        .orElse(null);
+                if (appointment == null
+                        || appointment.getStatus() != AppointmentStatus.CONFIRMED
+                        || !appointment.getStartTime().isAfter(LocalDateTime.now())) {
+                    return false;
+                }
+                if (reminderRepository.claim(reminder.appointmentId(), reminder.offsetMinutes(),
+                        LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                emailOutboxService.enqueueAppointmentReminder(
+                        appointment.getCustomer().getEmail(),
+                        appointment.getCustomer().getFullName(),
+                        AppointmentService.formatAppointmentDetails(appointment)
+                );
+                return true;
+            });
+            if (Boolean.TRUE.equals(queued)) {
+                log.debug("Queued {}-minute reminder for appointment {}",
+                        reminder.offsetMinutes(), reminder.appointmentId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to queue reminder for appointment {}", reminder.appointmentId(), e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Reminder(Long appointmentId, int offsetMinutes) {
+        String key() {
+            return appointmentId + ":" + offsetMinutes;
+        }
+    }
+}
@@ -2,17 +2,24 @@ package com.project.appointment.service;
 
 import com.project.appointment.dto.request.AppointmentRequest;
 import com.project.appointment.dto.request.AppointmentSearchRequest;
+import com.project.appointment.dto.request.AvailabilitySearchRequest;
+import com.project.appointment.dto.request.PageCursor;
 import com.project.appointment.dto.response.AppointmentResponse;
 import com.project.appointment.dto.response.AvailableSlotResponse;
+import com.project.appointment.dto.response.CursorPage;
+import com.project.appointment.dto.response.EmployeeAvailabilityResponse;
 import com.project.appointment.entity.*;
 import com.project.appointment.exception.BusinessException;
 import com.project.appointment.exception.ResourceNotFoundException;
 import com.project.appointment.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,8 +27,15 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,13 +43,21 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AppointmentService {
     
+    private static final String SLOT_EXCLUSION_CONSTRAINT = "ex_appointment_employee_slot";
+    private static final int MAX_AVAILABILITY_DAYS = 31;
+    private static final int DEFAULT_SLOT_GRANULARITY = 30;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "startTime", "id");
+    
     private final AppointmentRepository appointmentRepository;
     private final BusinessRepository businessRepository;
     private final ServiceRepository serviceRepository;
     private final EmployeeRepository employeeRepository;
     private final UserRepository userRepository;
     private final WorkScheduleRepository workScheduleRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
+    private final EmployeeTimelineIndex timelineIndex;
+    private final BusinessStatsService statsService;
+    private final AppointmentReminderScheduler reminderScheduler;
     
     @Transactional
     public AppointmentResponse createAppointment(AppointmentRequest request, Long customerId) {
@@ -53,19 +75,15 @@ public class AppointmentService {
         
         LocalDateTime endTime = request.getStartTime().plusMinutes(service.getDurationMinutes());
         
-        boolean hasConflict = appointmentRepository.existsByEmployeeIdAndAppointmentTimeBetweenAndStatusNot(
-                request.getEmployeeId(),
-                request.getStartTime(),
-                endTime,
-                AppointmentStatus.CANCELLED
-        );
-        
-        if (hasConflict) {
+        // In-process pre-check only (index hits are re-confirmed from the database);
+        // the exclusion constraint on appointments is the final guard
+        if (timelineIndex.covers(request.getEmployeeId(), request.getStartTime(), endTime)
+                && timelineIndex.hasConflict(request.getEmployeeId(), request.getStartTime(), endTime)) {
             throw new BusinessException("Employee has a conflicting appointment at this time");
         }
         
         DayOfWeek dayOfWeek = DayOfWeek.fromJavaTime(request.getStartTime().getDayOfWeek());
-        var schedule = workScheduleRepository.findByEmployeeIdAndDayOfWeek(request.getEmployeeId(), dayOfWeek);
+        var schedule = timelineIndex.findShift(request.getEmployeeId(), dayOfWeek);
         
         if (schedule.isEmpty()) {
             throw new BusinessException("Employee does not work on this day");
@@ -74,7 +92,7 @@ public class AppointmentService {
         LocalTime startTime = request.getStartTime().toLocalTime();
         LocalTime endTimeLocal = endTime.toLocalTime();
         
-        if (startTime.isBefore(schedule.get().getStartTime()) || endTimeLocal.isAfter(schedule.get().getEndTime())) {
+        if (startTime.isBefore(schedule.get().startTime()) || endTimeLocal.isAfter(schedule.get().endTime())) {
             throw new BusinessException("Appointment time is outside employee's work hours");
         }
         
@@ -93,19 +111,22 @@ public class AppointmentService {
                 .notes(request.getNotes())
                 .build();
         
-        appointment = appointmentRepository.save(appointment);
-        log.info("Appointment created: {} for customer: {}", appointment.getId(), customerId);
+        appointment = saveWithSlotGuard(appointment);
         
-        try {
-            String details = formatAppointmentDetails(appointment);
-            emailService.sendAppointmentConfirmationEmail(
-                    customer.getEmail(),
-                    customer.getFullName(),
-                    details
-            );
-        } catch (Exception e) {
-            log.error("Failed to send confirmation email for appointment {}", appointment.getId(), e);
+        // Atomic check-and-record against concurrent bookings on this node; rolled back with the transaction
+        if (!timelineIndex.tryReserve(appointment)) {
+            throw new BusinessException("Employee has a conflicting appointment at this time");
         }
+        statsService.recordAppointment(null, statsService.snapshot(appointment));
+        log.info("Appointment created: {} for customer: {}", appointment.getId(), customerId);
+        
+        // Queued in this transaction: a failure here rolls the booking back with it
+        String details = formatAppointmentDetails(appointment);
+        emailOutboxService.enqueueAppointmentConfirmation(
+                customer.getEmail(),
+                customer.getFullName(),
+                details
+        );
         
         return mapToResponse(appointment);
     }
@@ -121,23 +142,23 @@ public class AppointmentService {
         }
         
         AppointmentStatus oldStatus = appointment.getStatus();
+        var before = statsService.snapshot(appointment);
         appointment.setStatus(status);
         
         if (status == AppointmentStatus.CANCELLED) {
-            try {
-                String details = formatAppointmentDetails(appointment);
-                emailService.sendAppointmentCancellationEmail(
-                        appointment.getCustomer().getEmail(),
-                        appointment.getCustomer().getFullName(),
-                        details,
-                        appointment.getCancellationReason()
-                );
-            } catch (Exception e) {
-                log.error("Failed to send cancellation email", e);
-            }
+            String details = formatAppointmentDetails(appointment);
+            emailOutboxService.enqueueAppointmentCancellation(
+                    appointment.getCustomer().getEmail(),
+                    appointment.getCustomer().getFullName(),
+                    details,
+                    appointment.getCancellationReason()
+            );
         }
         
-        appointment = appointmentRepository.save(appointment);
+        appointment = saveWithSlotGuard(appointment);
+        timelineIndex.sync(appointment);
+        statsService.recordAppointment(before, statsService.snapshot(appointment));
+        reminderScheduler.sync(appointment);
         log.info("Appointment {} status changed from {} to {}", appointmentId, oldStatus, status);
         
         return mapToResponse(appointment);
@@ -153,24 +174,23 @@ public class AppointmentService {
             throw new BusinessException("You don't have permission to approve this appointment");
         }
         
+        var before = statsService.snapshot(appointment);
         appointment.setOwnerApproved(true);
         
         // If both owner and employee approved, confirm the appointment
         if (appointment.getOwnerApproved() && appointment.getEmployeeApproved()) {
             appointment.setStatus(AppointmentStatus.CONFIRMED);
-            try {
-                String details = formatAppointmentDetails(appointment);
-                emailService.sendAppointmentConfirmationEmail(
-                        appointment.getCustomer().getEmail(),
-                        appointment.getCustomer().getFullName(),
-                        details
-                );
-            } catch (Exception e) {
-                log.error("Failed to send confirmation email", e);
-            }
+            String details = formatAppointmentDetails(appointment);
+            emailOutboxService.enqueueAppointmentConfirmation(
+                    appointment.getCustomer().getEmail(),
+                    appointment.getCustomer().getFullName(),
+                    details
+            );
         }
         
         appointment = appointmentRepository.save(appointment);
+        statsService.recordAppointment(before, statsService.snapshot(appointment));
+        reminderScheduler.sync(appointment);
         log.info("Appointment {} approved by owner {}", appointmentId, userId);
         
         return mapToResponse(appointment);
@@ -190,24 +210,23 @@ public class AppointmentService {
             throw new BusinessException("You don't have permission to approve this appointment");
         }
         
+        var before = statsService.snapshot(appointment);
         appointment.setEmployeeApproved(true);
         
         // If both owner and employee approved, confirm the appointment
         if (appointment.getOwnerApproved() && appointment.getEmployeeApproved()) {
             appointment.setStatus(AppointmentStatus.CONFIRMED);
-            try {
-                String details = formatAppointmentDetails(appointment);
-                emailService.sendAppointmentConfirmationEmail(
-                        appointment.getCustomer().getEmail(),
-                        appointment.getCustomer().getFullName(),
-                        details
-                );
-            } catch (Exception e) {
-                log.error("Failed to send confirmation email", e);
-            }
+            String details = formatAppointmentDetails(appointment);
+            emailOutboxService.enqueueAppointmentConfirmation(
+                    appointment.getCustomer().getEmail(),
+                    appointment.getCustomer().getFullName(),
+                    details
+            );
         }
         
         appointment = appointmentRepository.save(appointment);
+        statsService.recordAppointment(before, statsService.snapshot(appointment));
+        reminderScheduler.sync(appointment);
         log.info("Appointment {} approved by employee {}", appointmentId, userId);
         
         return mapToResponse(appointment);
@@ -218,53 +237,136 @@ public class AppointmentService {
                 .map(this::mapToResponse);
     }
     
-    public List<AvailableSlotResponse> getAvailableSlots(Long employeeId, LocalDate date, Integer durationMinutes) {
-        employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found"));
-        
+    @Transactional(readOnly = true)
+    public List<AvailableSlotResponse> getAvailableSlots(Long employeeId, LocalDate date, Integer durationMinutes,
+                                                        Integer granularityMinutes) {
         DayOfWeek dayOfWeek = DayOfWeek.fromJavaTime(date.getDayOfWeek());
-        var scheduleOpt = workScheduleRepository.findByEmployeeIdAndDayOfWeek(employeeId, dayOfWeek);
+        var scheduleOpt = timelineIndex.findShift(employeeId, dayOfWeek);
         
         // Check if schedule exists and is active
-        if (scheduleOpt.isEmpty() || !scheduleOpt.get().getIsActive()) {
+        if (scheduleOpt.isEmpty() || !scheduleOpt.get().active()) {
             return new ArrayList<>();
         }
         
-        WorkSchedule schedule = scheduleOpt.get();
-        List<AvailableSlotResponse> slots = new ArrayList<>();
+        EmployeeTimelineIndex.Shift schedule = scheduleOpt.get();
         
-        LocalDateTime dayStart = date.atTime(schedule.getStartTime());
-        LocalDateTime dayEnd = date.atTime(schedule.getEndTime());
+        LocalDateTime dayStart = date.atTime(schedule.startTime());
+        LocalDateTime dayEnd = date.atTime(schedule.endTime());
         
-        List<Appointment> existingAppointments = appointmentRepository
-                .findByEmployeeIdAndAppointmentTimeBetweenAndStatusNot(
-                        employeeId, dayStart, dayEnd, AppointmentStatus.CANCELLED);
+        List<EmployeeTimelineIndex.BusyRange> existingAppointments = timelineIndex.covers(employeeId, dayStart, dayEnd)
+                ? timelineIndex.findBusy(employeeId, dayStart, dayEnd)
+                : appointmentRepository.findByEmployeeIdAndAppointmentTimeBetweenAndStatusNot(
+                                employeeId, dayStart, dayEnd, AppointmentStatus.CANCELLED)
+                        .stream()
+                        .map(apt -> new EmployeeTimelineIndex.BusyRange(apt.getStartTime(), apt.getEndTime()))
+                        .collect(Collectors.toList());
         
-        LocalTime currentTime = schedule.getStartTime();
-        while (currentTime.plusMinutes(durationMinutes).isBefore(schedule.getEndTime()) ||
-               currentTime.plusMinutes(durationMinutes).equals(schedule.getEndTime())) {
-            
-            LocalDateTime slotStart = date.atTime(currentTime);
-            LocalDateTime slotEnd = slotStart.plusMinutes(durationMinutes);
-            
-            boolean isAvailable = existingAppointments.stream()
-                    .noneMatch(apt -> !(apt.getEndTime().isBefore(slotStart) || apt.getStartTime().isAfter(slotEnd)));
+        return buildSlots(date, schedule, existingAppointments, durationMinutes, granularityMinutes);
+    }
+    
+    /**
+     * Builds the slot grid for several employees over a date range from one bulk
+     * schedule load and one bulk appointment load.
+     */
+    @Transactional(readOnly = true)
+    public List<EmployeeAvailabilityResponse> searchAvailability(AvailabilitySearchRequest request) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new BusinessException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) >= MAX_AVAILABILITY_DAYS) {
+            throw new BusinessException("Availability can be searched for at most " + MAX_AVAILABILITY_DAYS + " days");
+        }
+        
+        com.project.appointment.entity.Service service = serviceRepository.findById(request.getServiceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
+        
+        if (!service.getBusiness().getId().equals(request.getBusinessId())) {
+            throw new BusinessException("Service does not belong to this business");
+        }
+        
+        List<Employee> employees = employeeRepository.findByBusinessIdAndIsActiveTrue(request.getBusinessId());
+        if (request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty()) {
+            Set<Long> requested = new HashSet<>(request.getEmployeeIds());
+            employees = employees.stream()
+                    .filter(employee -> requested.contains(employee.getId()))
+                    .collect(Collectors.toList());
+        }
+        if (employees.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<Long> employeeIds = employees.stream().map(Employee::getId).collect(Collectors.toList());
+        LocalDateTime rangeStart = request.getStartDate().atStartOfDay();
+        LocalDateTime rangeEnd = request.getEndDate().plusDays(1).atStartOfDay();
+        
+        Map<Long, Map<DayOfWeek, EmployeeTimelineIndex.Shift>> shiftsByEmployee = new HashMap<>();
+        for (WorkSchedule schedule : workScheduleRepository.findByEmployeeIdIn(employeeIds)) {
+            shiftsByEmployee.computeIfAbsent(schedule.getEmployee().getId(), id -> new EnumMap<>(DayOfWeek.class))
+                    .put(schedule.getDayOfWeek(), new EmployeeTimelineIndex.Shift(
+                            schedule.getStartTime(),
+                            schedule.getEndTime(),
+                            Boolean.TRUE.equals(schedule.getIsActive())));
+        }
+        
+        Map<Long, List<EmployeeTimelineIndex.BusyRange>> busyByEmployee = appointmentRepository
+                .findByEmployeeIdInAndAppointmentTimeBetweenAndStatusNot(
+                        employeeIds, rangeStart, rangeEnd, AppointmentStatus.CANCELLED)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        apt -> apt.getEmployee().getId(),
+                        Collectors.mapping(
+                                apt -> new EmployeeTimelineIndex.BusyRange(apt.getStartTime(), apt.getEndTime()),
+                                Collectors.toList())));
+        
+        int granularity = request.getGranularityMinutes() != null ? request.getGranularityMinutes() : DEFAULT_SLOT_GRANULARITY;
+        List<EmployeeAvailabilityResponse> result = new ArrayList<>();
+        for (Employee employee : employees) {
+            Map<DayOfWeek, EmployeeTimelineIndex.Shift> shifts = shiftsByEmployee.getOrDefault(employee.getId(), Map.of());
+            List<EmployeeTimelineIndex.BusyRange> busy = busyByEmployee.getOrDefault(employee.getId(), List.of());
             
-            if (isAvailable && slotStart.isAfter(LocalDateTime.now())) {
-                slots.add(AvailableSlotResponse.builder()
-                        .startTime(slotStart)
-                        .endTime(slotEnd)
+            List<EmployeeAvailabilityResponse.DaySlots> days = new ArrayList<>();
+            for (LocalDate date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+                EmployeeTimelineIndex.Shift shift = shifts.get(DayOfWeek.fromJavaTime(date.getDayOfWeek()));
+                List<AvailableSlotResponse> slots = shift != null && shift.active()
+                        ? buildSlots(date, shift, busy, service.getDurationMinutes(), granularity)
+                        : new ArrayList<>();
+                days.add(EmployeeAvailabilityResponse.DaySlots.builder()
+                        .date(date)
+                        .slots(slots)
                         .build());
             }
             
-            currentTime = currentTime.plusMinutes(30);
+            result.add(EmployeeAvailabilityResponse.builder()
+                    .employeeId(employee.getId())
+                    .employeeName(employee.getName())
+                    .days(days)
+                    .build());
         }
         
-        return slots;
+        return result;
+    }
+    
+    private List<AvailableSlotResponse> buildSlots(LocalDate date, EmployeeTimelineIndex.Shift schedule,
+                                                   List<EmployeeTimelineIndex.BusyRange> existingAppointments,
+                                                   int durationMinutes, int granularityMinutes) {
+        SlotGrid grid = new SlotGrid(date, granularityMinutes);
+        grid.open(schedule.startTime(), schedule.endTime());
+        for (EmployeeTimelineIndex.BusyRange apt : existingAppointments) {
+            grid.block(apt.startTime(), apt.endTime());
+        }
+        grid.block(date.atStartOfDay(), LocalDateTime.now());
+        
+        return grid.freeStarts(durationMinutes)
+                .stream()
+                .map(slotStart -> AvailableSlotResponse.builder()
+                        .startTime(slotStart)
+                        .endTime(slotStart.plusMinutes(durationMinutes))
+                        .build())
+                .collect(Collectors.toList());
     }
     
     public AppointmentResponse getAppointmentById(Long appointmentId, Long userId) {
-        Appointment appointment = appointmentRepository.findById(appointmentId)
+        Appointment appointment = appointmentRepository.findWithDetailsById(appointmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found"));
         
         // Check if user is customer, business owner, or assigned employee
@@ -288,18 +390,59 @@ public class AppointmentService {
                 .collect(Collectors.toList());
     }
     
-    public Page<AppointmentResponse> getBusinessAppointments(Long businessId, Long ownerId, Pageable pageable) {
-        Business business = businessRepository.findById(businessId)
-                .orElseThrow(() -> new ResourceNotFoundException("Business not found"));
-        
-        if (!business.getOwnerId().equals(ownerId)) {
-            throw new BusinessException("You don't have permission to view these appointments");
+    public Page<AppointmentResponse> getUserAppointmentsPage(Long userId, Pageable pageable) {
+        Pageable sorted = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST);
+        return appointmentRepository.findByCustomerId(userId, sorted)
+                .map(this::mapToResponse);
+    }
+    
+    public CursorPage<AppointmentResponse> getUserAppointmentsByCursor(Long userId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Appointment> rows = after == null
+                ? appointmentRepository.findByCustomerIdOrderByStartTimeDescIdDesc(userId, limit)
+                : appointmentRepository.findCustomerPageAfter(userId, after.timeKey(), after.id(), limit);
+        return toCursorPage(rows, size);
+    }
+    
+    /**
+     * Appointments for the list screen by role: a business owner asking for one
+     * of their businesses gets its appointments, staff linked to an employee
+     * record get theirs, everyone else gets their own bookings.
+     */
+    public Page<AppointmentResponse> getAppointments(Long userId, Set<Role> roles, Long businessId, Pageable pageable) {
+        if (businessId != null && roles.contains(Role.BUSINESS_OWNER)) {
+            return getBusinessAppointments(businessId, userId, pageable);
         }
-        
+        if (roles.contains(Role.STAFF)) {
+            Optional<Employee> employee = employeeRepository.findByUserId(userId);
+            if (employee.isPresent()) {
+                return appointmentRepository.findByEmployeeId(employee.get().getId(), pageable)
+                        .map(this::mapToResponse);
+            }
+        }
+        return getUserAppointmentsPage(userId, pageable);
+    }
+    
+    public Page<AppointmentResponse> getBusinessAppointments(Long businessId, Long ownerId, Pageable pageable) {
+        requireBusinessOwner(businessId, ownerId);
         return appointmentRepository.findByBusinessId(businessId, pageable)
                 .map(this::mapToResponse);
     }
     
+    public CursorPage<AppointmentResponse> getBusinessAppointmentsByCursor(Long businessId, Long ownerId,
+                                                                          String cursor, int size) {
+        requireBusinessOwner(businessId, ownerId);
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Appointment> rows = after == null
+                ? appointmentRepository.findByBusinessIdOrderByStartTimeDescIdDesc(businessId, limit)
+                : appointmentRepository.findBusinessPageAfter(businessId, after.timeKey(), after.id(), limit);
+        return toCursorPage(rows, size);
+    }
+    
     @Transactional
     public AppointmentResponse cancelAppointment(Long appointmentId, Long userId) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
@@ -327,24 +470,24 @@ public class AppointmentService {
             throw new BusinessException("Past appointments cannot be cancelled");
         }
         
+        var before = statsService.snapshot(appointment);
         appointment.setStatus(AppointmentStatus.CANCELLED);
         appointment.setOwnerApproved(false);
         appointment.setEmployeeApproved(false);
         
         appointment = appointmentRepository.save(appointment);
+        timelineIndex.sync(appointment);
+        statsService.recordAppointment(before, statsService.snapshot(appointment));
+        reminderScheduler.sync(appointment);
         log.info("Appointment {} cancelled by user {}", appointmentId, userId);
         
-        try {
-            String details = formatAppointmentDetails(appointment);
-            emailService.sendAppointmentCancellationEmail(
-                    appointment.getCustomer().getEmail(),
-                    appointment.getCustomer().getFullName(),
-                    details,
-                    "Cancelled by " + (isCustomer ? "customer" : isOwner ? "business owner" : "employee")
-            );
-        } catch (Exception e) {
-            log.error("Failed to send cancellation email", e);
-        }
+        String details = formatAppointmentDetails(appointment);
+        emailOutboxService.enqueueAppointmentCancellation(
+                appointment.getCustomer().getEmail(),
+                appointment.getCustomer().getFullName(),
+                details,
+                "Cancelled by " + (isCustomer ? "customer" : isOwner ? "business owner" : "employee")
+        );
         
         return mapToResponse(appointment);
     }
@@ -359,24 +502,24 @@ public class AppointmentService {
             throw new BusinessException("You don't have permission to reject this appointment");
         }
         
+        var before = statsService.snapshot(appointment);
         appointment.setOwnerApproved(false);
         appointment.setStatus(AppointmentStatus.CANCELLED);
         appointment.setCancellationReason("Rejected by business owner");
         
         appointment = appointmentRepository.save(appointment);
+        timelineIndex.sync(appointment);
+        statsService.recordAppointment(before, statsService.snapshot(appointment));
+        reminderScheduler.sync(appointment);
         log.info("Appointment {} rejected by owner {}", appointmentId, userId);
         
-        try {
-            String details = formatAppointmentDetails(appointment);
-            emailService.sendAppointmentCancellationEmail(
-                    appointment.getCustomer().getEmail(),
-                    appointment.getCustomer().getFullName(),
-                    details,
-                    "Rejected by business owner"
-            );
-        } catch (Exception e) {
-            log.error("Failed to send rejection email", e);
-        }
+        String details = formatAppointmentDetails(appointment);
+        emailOutboxService.enqueueAppointmentCancellation(
+                appointment.getCustomer().getEmail(),
+                appointment.getCustomer().getFullName(),
+                details,
+                "Rejected by business owner"
+        );
         
         return mapToResponse(appointment);
     }
@@ -395,24 +538,24 @@ public class AppointmentService {
             throw new BusinessException("You don't have permission to reject this appointment");
         }
         
+        var before = statsService.snapshot(appointment);
         appointment.setEmployeeApproved(false);
         appointment.setStatus(AppointmentStatus.CANCELLED);
         appointment.setCancellationReason("Rejected by employee");
         
         appointment = appointmentRepository.save(appointment);
+        timelineIndex.sync(appointment);
+        statsService.recordAppointment(before, statsService.snapshot(appointment));
+        reminderScheduler.sync(appointment);
         log.info("Appointment {} rejected by employee {}", appointmentId, userId);
         
-        try {
-            String details = formatAppointmentDetails(appointment);
-            emailService.sendAppointmentCancellationEmail(
-                    appointment.getCustomer().getEmail(),
-                    appointment.getCustomer().getFullName(),
-                    details,
-                    "Rejected by employee"
-            );
-        } catch (Exception e) {
-            log.error("Failed to send rejection email", e);
-        }
+        String details = formatAppointmentDetails(appointment);
+        emailOutboxService.enqueueAppointmentCancellation(
+                appointment.getCustomer().getEmail(),
+                appointment.getCustomer().getFullName(),
+                details,
+                "Rejected by employee"
+        );
         
         return mapToResponse(appointment);
     }
@@ -428,6 +571,18 @@ public class AppointmentService {
                 .collect(Collectors.toList());
     }
     
+    public CursorPage<AppointmentResponse> getEmployeeAppointmentsByCursor(Long employeeUserId, String cursor, int size) {
+        Employee employee = employeeRepository.findByUserId(employeeUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found for this user"));
+        
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Appointment> rows = after == null
+                ? appointmentRepository.findByEmployeeIdOrderByStartTimeDescIdDesc(employee.getId(), limit)
+                : appointmentRepository.findEmployeePageAfter(employee.getId(), after.timeKey(), after.id(), limit);
+        return toCursorPage(rows, size);
+    }
+    
     public Page<AppointmentResponse> getEmployeeAppointmentsPage(Long employeeUserId, Pageable pageable) {
         // Find employee by user ID
         Employee employee = employeeRepository.findByUserId(employeeUserId)
@@ -437,50 +592,44 @@ public class AppointmentService {
                 .map(this::mapToResponse);
     }
     
-    @Scheduled(cron = "0 0 * * * *")
-    @Transactional
-    public void sendAppointmentReminders() {
-        log.info("Running appointment reminder task");
-        
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime twentyFourHoursLater = now.plusHours(24);
-        
-        List<Appointment> upcomingAppointments = appointmentRepository
-                .findByReminderSentFalseAndAppointmentTimeBetween(now, twentyFourHoursLater);
-        
-        int sentCount = 0;
-        for (Appointment appointment : upcomingAppointments) {
-            if (appointment.getStatus() == AppointmentStatus.CONFIRMED) {
-                try {
-                    String details = formatAppointmentDetails(appointment);
-                    emailService.sendAppointmentReminderEmail(
-                            appointment.getCustomer().getEmail(),
-                            appointment.getCustomer().getFullName(),
-                            details
-                    );
-                    
-                    appointment.setReminderSent(true);
-                    appointmentRepository.save(appointment);
-                    sentCount++;
-                    
-                    log.info("Reminder sent for appointment ID: {}", appointment.getId());
-                } catch (Exception e) {
-                    log.error("Failed to send reminder for appointment ID: {}", appointment.getId(), e);
-                }
+    /**
+     * Inserts/updates the appointment immediately so an overlap rejected by the
+     * ex_appointment_employee_slot constraint surfaces as a BusinessException.
+     */
+    private Appointment saveWithSlotGuard(Appointment appointment) {
+        try {
+            return appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (cause != null && cause.contains(SLOT_EXCLUSION_CONSTRAINT)) {
+                throw new BusinessException("Employee has a conflicting appointment at this time");
             }
+            throw e;
         }
+    }
+    
+    private void requireBusinessOwner(Long businessId, Long ownerId) {
+        Business business = businessRepository.findById(businessId)
+                .orElseThrow(() -> new ResourceNotFoundException("Business not found"));
         
-        log.info("Appointment reminder task completed. Sent {} reminders", sentCount);
+        if (!business.getOwnerId().equals(ownerId)) {
+            throw new BusinessException("You don't have permission to view these appointments");
+        }
+    }
+    
+    private CursorPage<AppointmentResponse> toCursorPage(List<Appointment> rows, int size) {
+        return CursorPage.of(rows, size, this::mapToResponse,
+                a -> PageCursor.of(a.getStartTime(), a.getId()).encode());
     }
     
-    private String formatAppointmentDetails(Appointment appointment) {
+    static String formatAppointmentDetails(Appointment appointment) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy 'at' hh:mm a");
         return String.format(
                 "Service: %s\nDate & Time: %s\nBusiness: %s\nEmployee: %s\nStatus: %s%s",
-                appointment.getService().getName(),
+                appointment.getService() != null ? appointment.getService().getName() : "-",
                 appointment.getStartTime().format(formatter),
                 appointment.getBusiness().getName(),
-                appointment.getEmployee().getName(),
+                appointment.getEmployee() != null ? appointment.getEmployee().getName() : "-",
                 appointment.getStatus(),
                 appointment.getNotes() != null ? "\nNotes: " + appointment.getNotes() : ""
         );
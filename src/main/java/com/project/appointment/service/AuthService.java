@@ -30,7 +30,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
     
     @Value("${app.url}")
     private String appUrl;
@@ -67,7 +67,7 @@ public class AuthService {
         user = userRepository.save(user);
         
         String verificationLink = appUrl + "/api/auth/verify-email?token=" + verificationToken;
-        emailService.sendVerificationEmail(user.getEmail(), user.getFullName(), verificationLink);
+        emailOutboxService.enqueueVerification(user.getEmail(), user.getFullName(), verificationLink);
         
         String accessToken = jwtService.generateAccessToken(user);
         String refreshToken = jwtService.generateRefreshToken(user);
@@ -202,7 +202,7 @@ public class AuthService {
         userRepository.save(user);
         
         String verificationLink = appUrl + "/api/auth/verify-email?token=" + verificationToken;
-        emailService.sendVerificationEmail(user.getEmail(), user.getFullName(), verificationLink);
+        emailOutboxService.enqueueVerification(user.getEmail(), user.getFullName(), verificationLink);
     }
     
     @Transactional
@@ -219,7 +219,7 @@ public class AuthService {
         
         // Frontend URL'ine yönlendir
         String resetLink = frontendUrl + "/reset-password?token=" + resetToken;
-        emailService.sendPasswordResetEmail(user.getEmail(), user.getFullName(), resetLink);
+        emailOutboxService.enqueuePasswordReset(user.getEmail(), user.getFullName(), resetLink);
     }
     
     public boolean validateResetToken(String token) {
@@ -0,0 +1,8 @@
+package com.project.appointment.service;
+
+/**
+ * Published when a business or one of its services is created, updated or
+ * deactivated, so in-memory views of the catalog can refresh that business.
+ */
+public record BusinessChangedEvent(Long businessId) {
+}
@@ -0,0 +1,253 @@
+package com.project.appointment.service;
+
+import com.project.appointment.config.ReplicaRoutingDataSource;
+import com.project.appointment.config.TwoLevelCacheManager;
+import com.project.appointment.entity.Business;
+import com.project.appointment.repository.BusinessRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory grid over the coordinates of active businesses for "near me"
+ * queries. The map is cut into square cells of {@code app.geo.cell-degrees}; a
+ * radius query visits only the cells overlapping its bounding box and keeps the
+ * points within the exact great-circle distance. Built at startup and refreshed
+ * per business from {@link BusinessChangedEvent}s after commit; the change is
+ * broadcast so other nodes refresh the same business, and a periodic rebuild
+ * catches up on any broadcast a node missed. Until a build succeeds, or once
+ * rebuilds have been failing for a few intervals, {@link #isReady()} is false
+ * and callers query the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BusinessGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final String INVALIDATION_NAME = "businessGeoIndex";
+    private static final int MAX_MISSED_REBUILDS = 3;
+
+    private final BusinessRepository businessRepository;
+    private final TwoLevelCacheManager cacheManager;
+
+    @Value("${app.geo.cell-degrees:0.05}")
+    private double cellDegrees;
+
+    @Value("${app.geo.rebuild-interval-ms:600000}")
+    private long rebuildIntervalMillis;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Point> points = new HashMap<>();
+    private Map<Long, List<Point>> cells = new HashMap<>();
+    private volatile long builtAt;
+
+    @PostConstruct
+    void subscribe() {
+        cacheManager.onRemoteInvalidation(INVALIDATION_NAME, key -> {
+            if (key == null) {
+                rebuild();
+                return;
+            }
+            try {
+                refresh(Long.valueOf(key));
+            } catch (Exception e) {
+                log.warn("Failed to refresh business {} in geo index, next rebuild will catch up: {}",
+                        key, e.getMessage());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.geo.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.geo.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        try {
+            Map<Long, Point> newPoints = new HashMap<>();
+            Map<Long, List<Point>> newCells = new HashMap<>();
+            for (Business business : businessRepository.findByIsActiveTrueAndLatitudeIsNotNullAndLongitudeIsNotNull()) {
+                add(toPoint(business), newPoints, newCells);
+            }
+
+            lock.writeLock().lock();
+            try {
+                points = newPoints;
+                cells = newCells;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            builtAt = System.currentTimeMillis();
+            log.info("Business geo index built: {} businesses in {} cells", newPoints.size(), newCells.size());
+        } catch (Exception e) {
+            log.error("Failed to build business geo index", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBusinessChanged(BusinessChangedEvent event) {
+        refresh(event.businessId());
+        cacheManager.broadcastInvalidation(INVALIDATION_NAME, String.valueOf(event.businessId()));
+    }
+
+    private void refresh(Long businessId) {
+        Point point = ReplicaRoutingDataSource.onPrimary(() -> businessRepository.findById(businessId))
+                .filter(b -> Boolean.TRUE.equals(b.getIsActive()))
+                .filter(b -> b.getLatitude() != null && b.getLongitude() != null)
+                .map(this::toPoint)
+                .orElse(null);
+
+        lock.writeLock().lock();
+        try {
+            remove(businessId);
+            if (point != null) {
+                add(point, points, cells);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return builtAt > 0 && System.currentTimeMillis() - builtAt < MAX_MISSED_REBUILDS * rebuildIntervalMillis;
+    }
+
+    /**
+     * Businesses within {@code radiusKm} of the given point, nearest first.
+     * {@code category} is matched case-insensitively; null matches every category.
+     */
+    public List<Hit> within(double latitude, double longitude, double radiusKm, String category) {
+        BoundingBox box = BoundingBox.around(latitude, longitude, radiusKm);
+        long minLatCell = cellIndex(box.minLatitude());
+        long maxLatCell = cellIndex(box.maxLatitude());
+        long minLonCell = cellIndex(box.minLongitude());
+        long maxLonCell = cellIndex(box.maxLongitude());
+        long cellCount = (maxLatCell - minLatCell + 1) * (maxLonCell - minLonCell + 1);
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            // A huge box (large radius or near a pole) touches more cells than there are points
+            if (cellCount > points.size()) {
+                points.values().forEach(point -> collect(point, latitude, longitude, radiusKm, category, hits));
+            } else {
+                for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                    for (long lonCell = minLonCell; lonCell <= maxLonCell; lonCell++) {
+                        List<Point> cell = cells.get(cellKey(latCell, lonCell));
+                        if (cell != null) {
+                            cell.forEach(point -> collect(point, latitude, longitude, radiusKm, category, hits));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    /**
+     * Great-circle (haversine) distance in kilometres.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static void collect(Point point, double latitude, double longitude, double radiusKm,
+                                String category, List<Hit> hits) {
+        if (category != null && !category.equalsIgnoreCase(point.category())) {
+            return;
+        }
+        double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+        if (distance <= radiusKm) {
+            hits.add(new Hit(point.id(), distance));
+        }
+    }
+
+    private void remove(Long businessId) {
+        Point old = points.remove(businessId);
+        if (old == null) {
+            return;
+        }
+        long key = cellKey(old.latitude(), old.longitude());
+        List<Point> cell = cells.get(key);
+        if (cell != null) {
+            cell.removeIf(point -> point.id().equals(businessId));
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private void add(Point point, Map<Long, Point> points, Map<Long, List<Point>> cells) {
+        points.put(point.id(), point);
+        cells.computeIfAbsent(cellKey(point.latitude(), point.longitude()), k -> new ArrayList<>()).add(point);
+    }
+
+    private Point toPoint(Business business) {
+        return new Point(business.getId(), business.getLatitude(), business.getLongitude(), business.getCategory());
+    }
+
+    private long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return cellKey(cellIndex(latitude), cellIndex(longitude));
+    }
+
+    private static long cellKey(long latCell, long lonCell) {
+        return (latCell << 32) | (lonCell & 0xFFFFFFFFL);
+    }
+
+    public record Hit(Long id, double distanceKm) {
+    }
+
+    private record Point(Long id, double latitude, double longitude, String category) {
+    }
+
+    /**
+     * Degree box enclosing a circle. Circles reaching a pole or the antimeridian
+     * get the full longitude range, so the box never excludes a point in range.
+     */
+    public record BoundingBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+
+        public static BoundingBox around(double latitude, double longitude, double radiusKm) {
+            double latDelta = radiusKm / KM_PER_DEGREE;
+            double minLat = latitude - latDelta;
+            double maxLat = latitude + latDelta;
+            if (minLat <= -90 || maxLat >= 90) {
+                return new BoundingBox(Math.max(minLat, -90), Math.min(maxLat, 90), -180, 180);
+            }
+            // Widest at the box edge nearest the pole
+            double cos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+            double lonDelta = radiusKm / (KM_PER_DEGREE * cos);
+            double minLon = longitude - lonDelta;
+            double maxLon = longitude + lonDelta;
+            if (minLon < -180 || maxLon > 180) {
+                return new BoundingBox(minLat, maxLat, -180, 180);
+            }
+            return new BoundingBox(minLat, maxLat, minLon, maxLon);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.project.appointment.service;
+
+import com.project.appointment.config.ReplicaRoutingDataSource;
+import com.project.appointment.config.TwoLevelCacheManager;
+import com.project.appointment.dto.response.BusinessSuggestionResponse;
+import com.project.appointment.entity.Business;
+import com.project.appointment.entity.Service;
+import com.project.appointment.repository.BusinessRepository;
+import com.project.appointment.repository.ServiceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory autocomplete over active businesses. Name, category, city and
+ * active service names are tokenized (case- and accent-insensitive, so "kuafor"
+ * finds "Kuaför") into an inverted index of term -> business -> weight, and a
+ * prefix trie over the terms resolves the word being typed. Built at startup and
+ * refreshed per business from {@link BusinessChangedEvent}s after commit; the
+ * change is broadcast so other nodes refresh the same business, and a periodic
+ * rebuild catches up on any broadcast a node missed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BusinessSearchIndex {
+
+    private static final int NAME_WEIGHT = 8;
+    private static final int CATEGORY_WEIGHT = 4;
+    private static final int SERVICE_WEIGHT = 2;
+    private static final int CITY_WEIGHT = 1;
+    private static final int MAX_PREFIX_TERMS = 256;
+    private static final int MAX_LIMIT = 50;
+    private static final String INVALIDATION_NAME = "businessSearchIndex";
+
+    private final BusinessRepository businessRepository;
+    private final ServiceRepository serviceRepository;
+    private final TwoLevelCacheManager cacheManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Entry> entries = new HashMap<>();
+    private Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private TrieNode trie = new TrieNode();
+
+    @PostConstruct
+    void subscribe() {
+        cacheManager.onRemoteInvalidation(INVALIDATION_NAME, key -> {
+            if (key == null) {
+                rebuild();
+                return;
+            }
+            try {
+                refresh(Long.valueOf(key));
+            } catch (Exception e) {
+                log.warn("Failed to refresh business {} in search index, next rebuild will catch up: {}",
+                        key, e.getMessage());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.search.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        try {
+            Map<Long, List<String>> servicesByBusiness = serviceRepository.findAll().stream()
+                    .filter(service -> Boolean.TRUE.equals(service.getIsActive()))
+                    .collect(Collectors.groupingBy(service -> service.getBusiness().getId(),
+                            Collectors.mapping(Service::getName, Collectors.toList())));
+
+            Map<Long, Entry> newEntries = new HashMap<>();
+            Map<String, Map<Long, Integer>> newPostings = new HashMap<>();
+            TrieNode newTrie = new TrieNode();
+            for (Business business : businessRepository.findAll()) {
+                if (Boolean.TRUE.equals(business.getIsActive())) {
+                    Entry entry = toEntry(business, servicesByBusiness.getOrDefault(business.getId(), List.of()));
+                    add(entry, newEntries, newPostings, newTrie);
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                entries = newEntries;
+                postings = newPostings;
+                trie = newTrie;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Business search index built: {} businesses, {} terms", newEntries.size(), newPostings.size());
+        } catch (Exception e) {
+            log.error("Failed to build business search index", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBusinessChanged(BusinessChangedEvent event) {
+        refresh(event.businessId());
+        cacheManager.broadcastInvalidation(INVALIDATION_NAME, String.valueOf(event.businessId()));
+    }
+
+    private void refresh(Long businessId) {
+        // Read from the primary: the change was just committed and a replica may not have it yet
+        Entry entry = ReplicaRoutingDataSource.onPrimary(() -> {
+            Optional<Business> business = businessRepository.findById(businessId)
+                    .filter(b -> Boolean.TRUE.equals(b.getIsActive()));
+            return business
+                    .map(b -> toEntry(b, serviceRepository.findByBusinessIdAndIsActiveTrue(businessId).stream()
+                            .map(Service::getName)
+                            .toList()))
+                    .orElse(null);
+        });
+
+        lock.writeLock().lock();
+        try {
+            remove(businessId);
+            if (entry != null) {
+                add(entry, entries, postings, trie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Top matches for a partially typed query. Every word must match; the last
+     * one as a prefix, earlier ones as prefixes too with a bonus for exact words.
+     */
+    public List<BusinessSuggestionResponse> suggest(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String token : tokens) {
+                Map<Long, Integer> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            Map<Long, Entry> current = entries;
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                            .thenComparing(e -> current.get(e.getKey()).name(), String.CASE_INSENSITIVE_ORDER))
+                    .limit(k)
+                    .map(e -> current.get(e.getKey()).toResponse())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> scoreToken(String token) {
+        Map<Long, Integer> scores = new HashMap<>();
+        for (String term : trie.termsWithPrefix(token, MAX_PREFIX_TERMS)) {
+            int bonus = term.equals(token) ? 2 : 1;
+            postings.get(term).forEach((id, weight) -> scores.merge(id, weight * bonus, Math::max));
+        }
+        return scores;
+    }
+
+    private void remove(Long businessId) {
+        Entry old = entries.remove(businessId);
+        if (old == null) {
+            return;
+        }
+        for (String term : old.terms().keySet()) {
+            Map<Long, Integer> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(businessId);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                    trie.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void add(Entry entry, Map<Long, Entry> entries, Map<String, Map<Long, Integer>> postings,
+                            TrieNode trie) {
+        entries.put(entry.id(), entry);
+        entry.terms().forEach((term, weight) -> postings.computeIfAbsent(term, t -> {
+            trie.insert(t);
+            return new HashMap<>();
+        }).put(entry.id(), weight));
+    }
+
+    private static Entry toEntry(Business business, List<String> serviceNames) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, business.getName(), NAME_WEIGHT);
+        addTerms(terms, business.getCategory(), CATEGORY_WEIGHT);
+        serviceNames.forEach(name -> addTerms(terms, name, SERVICE_WEIGHT));
+        addTerms(terms, business.getCity(), CITY_WEIGHT);
+        return new Entry(business.getId(), business.getName(), business.getCategory(), business.getCity(), terms);
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String term : tokenize(text)) {
+            terms.merge(term, weight, Math::max);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replace('ı', 'i');
+        return Arrays.stream(folded.split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private record Entry(Long id, String name, String category, String city, Map<String, Integer> terms) {
+        BusinessSuggestionResponse toResponse() {
+            return BusinessSuggestionResponse.builder()
+                    .id(id)
+                    .name(name)
+                    .category(category)
+                    .city(city)
+                    .build();
+        }
+    }
+
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private String term;
+
+        void insert(String word) {
+            TrieNode node = this;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.children.computeIfAbsent(word.charAt(i), c -> new TrieNode());
+            }
+            node.term = word;
+        }
+
+        void remove(String word) {
+            Deque<TrieNode> path = new ArrayDeque<>();
+            TrieNode node = this;
+            for (int i = 0; i < word.length(); i++) {
+                path.push(node);
+                node = node.children.get(word.charAt(i));
+                if (node == null) {
+                    return;
+                }
+            }
+            node.term = null;
+            // Prune the branch up to the nearest node that still leads to a term
+            for (int i = word.length() - 1; i >= 0 && node.term == null && node.children.isEmpty(); i--) {
+                TrieNode parent = path.pop();
+                parent.children.remove(word.charAt(i));
+                node = parent;
+            }
+        }
+
+        List<String> termsWithPrefix(String prefix, int max) {
+            TrieNode start = find(prefix);
+            if (start == null) {
+                return List.of();
+            }
+            // Breadth-first so the shortest (closest) completions are kept when the cap is hit
+            List<String> terms = new ArrayList<>();
+            Deque<TrieNode> queue = new ArrayDeque<>();
+            queue.add(start);
+            while (!queue.isEmpty() && terms.size() < max) {
+                TrieNode node = queue.poll();
+                if (node.term != null) {
+                    terms.add(node.term);
+                }
+                queue.addAll(node.children.values());
+            }
+            return terms;
+        }
+
+        private TrieNode find(String word) {
+            TrieNode node = this;
+            for (int i = 0; i < word.length() && node != null; i++) {
+                node = node.children.get(word.charAt(i));
+            }
+            return node;
+        }
+    }
+}
@@ -1,30 +1,47 @@
 package com.project.appointment.service;
 
 import com.project.appointment.dto.request.BusinessRequest;
+import com.project.appointment.dto.request.PageCursor;
 import com.project.appointment.dto.response.BusinessResponse;
+import com.project.appointment.dto.response.CursorPage;
+import com.project.appointment.dto.response.NearbyBusinessResponse;
 import com.project.appointment.entity.Business;
 import com.project.appointment.entity.BusinessType;
 import com.project.appointment.exception.BusinessException;
 import com.project.appointment.repository.BusinessRepository;
-import com.project.appointment.repository.FavoriteRepository;
-import com.project.appointment.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BusinessService {
     
     private final BusinessRepository businessRepository;
-    private final FavoriteRepository favoriteRepository;
-    private final ReviewRepository reviewRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BusinessGeoIndex geoIndex;
+    
+    @Value("${app.geo.max-radius-km:50}")
+    private double maxRadiusKm;
+    
+    @Value("${app.geo.max-results:100}")
+    private int maxNearbyResults;
     
     @Transactional
     @CacheEvict(value = "businesses", allEntries = true)
@@ -33,6 +50,7 @@ public class BusinessService {
         if (businessRepository.existsByOwnerId(ownerId)) {
             throw new BusinessException("You already have a business");
         }
+        requireCoordinatePair(request);
         
         Business business = Business.builder()
                 .ownerId(ownerId)
@@ -41,6 +59,8 @@ public class BusinessService {
                 .category(request.getCategory())
                 .address(request.getAddress())
                 .city(request.getCity())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
                 .businessType(request.getBusinessType() != null ? 
                     BusinessType.valueOf(request.getBusinessType()) : null)
                 .phone(request.getPhone())
@@ -49,17 +69,31 @@ public class BusinessService {
                 .build();
         
         business = businessRepository.save(business);
+        eventPublisher.publishEvent(new BusinessChangedEvent(business.getId()));
         log.info("Business created: {} by owner: {}", business.getId(), ownerId);
         
         return mapToResponse(business);
     }
     
+    @Transactional(readOnly = true)
     @Cacheable(value = "businesses", key = "'all:' + #pageable.pageNumber")
     public Page<BusinessResponse> getAllBusinesses(Pageable pageable) {
         return businessRepository.findByIsActiveTrue(pageable)
                 .map(this::mapToResponse);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPage<BusinessResponse> getAllBusinessesByCursor(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Business> rows = after == null
+                ? businessRepository.findByIsActiveTrueOrderByNameAscIdAsc(limit)
+                : businessRepository.findActivePageAfter(after.sortKey(), after.id(), limit);
+        return CursorPage.of(rows, size, this::mapToResponse,
+                b -> PageCursor.of(b.getName(), b.getId()).encode());
+    }
+    
+    @Transactional(readOnly = true)
     @Cacheable(value = "business", key = "#id")
     public BusinessResponse getBusinessById(Long id) {
         Business business = businessRepository.findById(id)
@@ -78,6 +112,7 @@ public class BusinessService {
     public BusinessResponse updateBusiness(Long ownerId, BusinessRequest request) {
         Business business = businessRepository.findByOwnerId(ownerId)
                 .orElseThrow(() -> new BusinessException("Business not found"));
+        requireCoordinatePair(request);
         
         // Update only non-null fields (partial update)
         if (request.getName() != null) business.setName(request.getName());
@@ -85,6 +120,8 @@ public class BusinessService {
         if (request.getCategory() != null) business.setCategory(request.getCategory());
         if (request.getAddress() != null) business.setAddress(request.getAddress());
         if (request.getCity() != null) business.setCity(request.getCity());
+        if (request.getLatitude() != null) business.setLatitude(request.getLatitude());
+        if (request.getLongitude() != null) business.setLongitude(request.getLongitude());
         if (request.getBusinessType() != null) {
             business.setBusinessType(BusinessType.valueOf(request.getBusinessType()));
         }
@@ -93,20 +130,120 @@ public class BusinessService {
         if (request.getImageUrl() != null) business.setImageUrl(request.getImageUrl());
         
         business = businessRepository.save(business);
+        eventPublisher.publishEvent(new BusinessChangedEvent(business.getId()));
         log.info("Business updated: {}", business.getId());
         
         return mapToResponse(business);
     }
     
+    @Transactional(readOnly = true)
     public Page<BusinessResponse> searchBusinesses(String keyword, Pageable pageable) {
-        return businessRepository.searchByKeyword(keyword, pageable)
+        List<String> terms = Arrays.stream(keyword.split("[^\\p{L}\\p{M}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        // Only letters/digits reach to_tsquery, so user input can't break the query syntax;
+        // case folding is left to Postgres so it matches how search_vector was built
+        String tsQuery = terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+        return businessRepository.searchRanked(tsQuery, String.join(" ", terms), pageable)
                 .map(this::mapToResponse);
     }
     
-    private BusinessResponse mapToResponse(Business business) {
-        Double avgRating = reviewRepository.getAverageRatingByBusinessId(business.getId());
-        Long favoriteCount = favoriteRepository.countByBusinessId(business.getId());
+    /**
+     * Active businesses within {@code radiusKm}, nearest first. Distances are
+     * compared in 100 m steps so equally close businesses are ordered by rating.
+     * Served from {@link BusinessGeoIndex}; falls back to a bounding-box query
+     * while the index is not built.
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyBusinessResponse> findNearby(double latitude, double longitude, double radiusKm,
+                                                   String category, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BusinessException("Invalid coordinates");
+        }
+        if (radiusKm <= 0 || radiusKm > maxRadiusKm) {
+            throw new BusinessException("radiusKm must be greater than 0 and at most " + maxRadiusKm);
+        }
+        String categoryFilter = category == null || category.isBlank() ? null : category.trim();
+        int k = Math.max(1, Math.min(limit, maxNearbyResults));
         
+        List<BusinessGeoIndex.Hit> hits;
+        Map<Long, Business> businesses;
+        if (geoIndex.isReady()) {
+            hits = nearestBuckets(geoIndex.within(latitude, longitude, radiusKm, categoryFilter), k);
+            businesses = businessRepository.findAllById(hits.stream().map(BusinessGeoIndex.Hit::id).toList())
+                    .stream()
+                    .filter(b -> Boolean.TRUE.equals(b.getIsActive()))
+                    .collect(Collectors.toMap(Business::getId, Function.identity()));
+        } else {
+            BusinessGeoIndex.BoundingBox box = BusinessGeoIndex.BoundingBox.around(latitude, longitude, radiusKm);
+            businesses = businessRepository.findActiveInBoundingBox(box.minLatitude(), box.maxLatitude(),
+                            box.minLongitude(), box.maxLongitude(), categoryFilter)
+                    .stream()
+                    .collect(Collectors.toMap(Business::getId, Function.identity()));
+            hits = businesses.values().stream()
+                    .map(b -> new BusinessGeoIndex.Hit(b.getId(), BusinessGeoIndex.distanceKm(
+                            latitude, longitude, b.getLatitude(), b.getLongitude())))
+                    .filter(hit -> hit.distanceKm() <= radiusKm)
+                    .toList();
+        }
+        
+        return hits.stream()
+                .filter(hit -> businesses.containsKey(hit.id()))
+                .sorted(Comparator.comparingLong((BusinessGeoIndex.Hit hit) -> distanceBucket(hit.distanceKm()))
+                        .thenComparing(hit -> averageRating(businesses.get(hit.id())),
+                                Comparator.nullsLast(Comparator.reverseOrder()))
+                        .thenComparingDouble(BusinessGeoIndex.Hit::distanceKm))
+                .limit(k)
+                .map(hit -> mapToNearbyResponse(businesses.get(hit.id()), hit.distanceKm()))
+                .toList();
+    }
+    
+    /**
+     * The first {@code k} hits of a distance-sorted list, plus any others in the
+     * last hit's 100 m bucket, which may outrank it on rating.
+     */
+    private static List<BusinessGeoIndex.Hit> nearestBuckets(List<BusinessGeoIndex.Hit> hits, int k) {
+        if (hits.size() <= k) {
+            return hits;
+        }
+        long lastBucket = distanceBucket(hits.get(k - 1).distanceKm());
+        int end = k;
+        while (end < hits.size() && distanceBucket(hits.get(end).distanceKm()) == lastBucket) {
+            end++;
+        }
+        return hits.subList(0, end);
+    }
+    
+    private static long distanceBucket(double distanceKm) {
+        return (long) (distanceKm * 10);
+    }
+    
+    private static void requireCoordinatePair(BusinessRequest request) {
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new BusinessException("Latitude and longitude must be provided together");
+        }
+    }
+    
+    private NearbyBusinessResponse mapToNearbyResponse(Business business, double distanceKm) {
+        return NearbyBusinessResponse.builder()
+                .id(business.getId())
+                .name(business.getName())
+                .category(business.getCategory())
+                .address(business.getAddress())
+                .city(business.getCity())
+                .latitude(business.getLatitude())
+                .longitude(business.getLongitude())
+                .imageUrl(business.getImageUrl())
+                .averageRating(averageRating(business))
+                .ratingCount(business.getRatingCount() != null ? business.getRatingCount() : 0)
+                .distanceKm(Math.round(distanceKm * 100) / 100.0)
+                .build();
+    }
+    
+    private BusinessResponse mapToResponse(Business business) {
         return BusinessResponse.builder()
                 .id(business.getId())
                 .ownerId(business.getOwnerId())
@@ -115,16 +252,22 @@ public class BusinessService {
                 .category(business.getCategory())
                 .address(business.getAddress())
                 .city(business.getCity())
+                .latitude(business.getLatitude())
+                .longitude(business.getLongitude())
                 .businessType(business.getBusinessType())
                 .phone(business.getPhone())
                 .email(business.getEmail())
                 .imageUrl(business.getImageUrl())
                 .isActive(business.getIsActive())
-                .averageRating(avgRating)
-                .favoriteCount(favoriteCount)
+                .averageRating(averageRating(business))
+                .favoriteCount(business.getFavoriteCount() != null ? business.getFavoriteCount().longValue() : 0L)
                 .createdAt(business.getCreatedAt())
                 .updatedAt(business.getUpdatedAt())
                 .build();
     }
+    
+    private static Double averageRating(Business business) {
+        Integer count = business.getRatingCount();
+        return count != null && count > 0 ? business.getRatingSum() / (double) count : null;
+    }
 }
-
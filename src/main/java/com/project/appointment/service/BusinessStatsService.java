@@ -0,0 +1,154 @@
+package com.project.appointment.service;
+
+import com.project.appointment.entity.Appointment;
+import com.project.appointment.entity.AppointmentStatus;
+import com.project.appointment.entity.Business;
+import com.project.appointment.entity.PaymentStatus;
+import com.project.appointment.entity.Review;
+import com.project.appointment.repository.BusinessDailyStatRepository;
+import com.project.appointment.repository.BusinessRepository;
+import com.project.appointment.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Keeps business_daily_stats in step with appointments and reviews. Services
+ * take a {@link Snapshot} before mutating an appointment and hand the before/after
+ * pair to {@link #recordAppointment}; only the difference is written, in the
+ * caller's transaction. A nightly job rebuilds every business from the raw
+ * tables to repair any drift, along with the rating/favorite counters. Deltas
+ * and rebuilds of the same business hold a per-business advisory lock, so a
+ * rebuild never interleaves with an in-flight delta.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BusinessStatsService {
+
+    private static final long NONE = 0L;
+    private static final String REBUILD_LOCK = "business-stats-rebuild";
+    // Not released after the run, so a node whose cron fires late doesn't rebuild everything again
+    private static final Duration REBUILD_LEASE = Duration.ofHours(1);
+
+    private final BusinessDailyStatRepository statRepository;
+    private final BusinessRepository businessRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLockService schedulerLockService;
+
+    public Snapshot snapshot(Appointment appointment) {
+        return new Snapshot(
+                appointment.getBusiness().getId(),
+                appointment.getStartTime().toLocalDate(),
+                appointment.getService() != null ? appointment.getService().getId() : NONE,
+                appointment.getEmployee() != null ? appointment.getEmployee().getId() : NONE,
+                appointment.getStatus(),
+                appointment.getPaymentStatus() == PaymentStatus.PAID && appointment.getPrice() != null
+                        ? appointment.getPrice() : BigDecimal.ZERO);
+    }
+
+    /**
+     * Applies the change between two snapshots of the same appointment.
+     * {@code before} is null for a new appointment.
+     */
+    @Transactional
+    public void recordAppointment(Snapshot before, Snapshot after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null) {
+            apply(before, -1, before.paidRevenue().negate());
+        }
+        apply(after, 1, after.paidRevenue());
+    }
+
+    @Transactional
+    public void recordRating(Review review, int ratingDelta, int countDelta) {
+        Snapshot key = snapshot(review.getAppointment());
+        statRepository.lockBusiness(key.businessId());
+        statRepository.applyDelta(key.businessId(), key.statDate(), key.serviceId(), key.employeeId(),
+                key.status().name(), 0, BigDecimal.ZERO, ratingDelta, countDelta);
+    }
+
+    private void apply(Snapshot snapshot, int countDelta, BigDecimal revenueDelta) {
+        statRepository.lockBusiness(snapshot.businessId());
+        statRepository.applyDelta(snapshot.businessId(), snapshot.statDate(), snapshot.serviceId(),
+                snapshot.employeeId(), snapshot.status().name(), countDelta, revenueDelta, 0, 0);
+    }
+
+    /**
+     * Replaces the rollup rows of one business with figures recomputed from
+     * appointments and reviews.
+     */
+    public void rebuild(Long businessId) {
+        Integer rows = transactionTemplate.execute(status -> {
+            // Taken before the delete so the insert's snapshot includes every committed delta
+            statRepository.lockBusiness(businessId);
+            statRepository.deleteByBusinessId(businessId);
+            return statRepository.rebuildForBusiness(businessId);
+        });
+        log.debug("Daily stats rebuilt for business {}: {} rows", businessId, rows);
+    }
+
+    @Scheduled(cron = "${app.stats.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        if (!schedulerLockService.tryAcquire(REBUILD_LOCK, REBUILD_LEASE)) {
+            return;
+        }
+        log.info("Rebuilding business daily stats");
+        int count = 0;
+        for (Business business : businessRepository.findAll()) {
+            try {
+                rebuild(business.getId());
+                count++;
+            } catch (Exception e) {
+                log.error("Failed to rebuild daily stats for business {}", business.getId(), e);
+            }
+        }
+        log.info("Business daily stats rebuilt for {} businesses", count);
+        repairCounters();
+    }
+
+    /**
+     * Recomputes the denormalized rating/favorite counters on businesses and
+     * employees, which are otherwise only adjusted incrementally.
+     */
+    private void repairCounters() {
+        try {
+            Integer repaired = transactionTemplate.execute(status ->
+                    businessRepository.repairCounters() + employeeRepository.repairRatings());
+            log.info("Rating/favorite counters repaired on {} rows", repaired);
+        } catch (Exception e) {
+            log.error("Failed to repair rating/favorite counters", e);
+        }
+    }
+
+    /**
+     * Backfills the rollup on first start after the table is introduced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (statRepository.count() == 0 && businessRepository.count() > 0) {
+                rebuildAll();
+            }
+        } catch (Exception e) {
+            log.warn("Skipping daily stats backfill: {}", e.getMessage());
+        }
+    }
+
+    public record Snapshot(Long businessId, LocalDate statDate, Long serviceId, Long employeeId,
+                           AppointmentStatus status, BigDecimal paidRevenue) {
+    }
+}
@@ -4,9 +4,13 @@ import com.project.appointment.dto.response.DashboardResponse;
 import com.project.appointment.entity.AppointmentStatus;
 import com.project.appointment.exception.BusinessException;
 import com.project.appointment.repository.*;
+import com.project.appointment.repository.projection.DashboardBucketView;
+import com.project.appointment.repository.projection.DashboardRankingView;
+import com.project.appointment.repository.projection.DashboardSummaryView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -21,10 +25,9 @@ public class DashboardService {
     
     private final BusinessRepository businessRepository;
     private final AppointmentRepository appointmentRepository;
-    private final ServiceRepository serviceRepository;
-    private final EmployeeRepository employeeRepository;
-    private final ReviewRepository reviewRepository;
+    private final BusinessDailyStatRepository statRepository;
     
+    @Transactional(readOnly = true)
     public DashboardResponse getBusinessDashboard(Long businessId, Long ownerId) {
         var business = businessRepository.findById(businessId)
                 .orElseThrow(() -> new BusinessException("Business not found"));
@@ -34,84 +37,80 @@ public class DashboardService {
         }
         
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime todayStart = now.toLocalDate().atStartOfDay();
-        LocalDateTime todayEnd = todayStart.plusDays(1);
         LocalDateTime weekEnd = now.plusDays(7);
-        LocalDateTime monthStart = now.withDayOfMonth(1).toLocalDate().atStartOfDay();
+        LocalDate today = now.toLocalDate();
+        LocalDate monthStart = today.withDayOfMonth(1);
         
-        Long totalAppointments = appointmentRepository.countByBusinessId(businessId);
-        Long todayAppointments = appointmentRepository.countByBusinessIdAndAppointmentTimeBetween(businessId, todayStart, todayEnd);
-        Long upcomingAppointments = appointmentRepository.countByBusinessIdAndAppointmentTimeBetween(businessId, now, weekEnd);
-        Long completedAppointments = appointmentRepository.countByBusinessIdAndStatus(businessId, AppointmentStatus.COMPLETED);
-        Long cancelledAppointments = appointmentRepository.countByBusinessIdAndStatus(businessId, AppointmentStatus.CANCELLED);
+        DashboardSummaryView summary = statRepository.getDashboardSummary(businessId, today, monthStart);
         
-        BigDecimal totalRevenueBD = appointmentRepository.getTotalRevenueByBusinessId(businessId);
-        BigDecimal monthlyRevenueBD = appointmentRepository.getTotalRevenueByBusinessIdAndDateRange(businessId, monthStart, now);
+        // Rollup is per day; upcoming needs the exact time window and stays a bounded range count
+        Long upcomingAppointments = appointmentRepository.countByBusinessIdAndAppointmentTimeBetween(businessId, now, weekEnd);
         
-        Double totalRevenue = totalRevenueBD != null ? totalRevenueBD.doubleValue() : 0.0;
-        Double monthlyRevenue = monthlyRevenueBD != null ? monthlyRevenueBD.doubleValue() : 0.0;
-        Double averageRating = reviewRepository.getAverageRatingByBusinessId(businessId);
+        Double totalRevenue = summary.getTotalRevenue().doubleValue();
+        // Rollup covers the month up to yesterday; today counts only appointments that have already started
+        Double monthlyRevenue = summary.getMonthlyRevenue()
+                .add(appointmentRepository.getTotalRevenueByBusinessIdAndDateRange(businessId, today.atStartOfDay(), now))
+                .doubleValue();
+        Double averageRating = summary.getRatingCount() > 0
+                ? (double) summary.getRatingSum() / summary.getRatingCount() : 0.0;
         
         // Appointments by status
         Map<String, Long> appointmentsByStatus = new HashMap<>();
-        for (AppointmentStatus status : AppointmentStatus.values()) {
-            Long count = appointmentRepository.countByBusinessIdAndStatus(businessId, status);
-            appointmentsByStatus.put(status.name(), count != null ? count : 0L);
-        }
+        appointmentsByStatus.put(AppointmentStatus.PENDING.name(), summary.getPendingAppointments());
+        appointmentsByStatus.put(AppointmentStatus.CONFIRMED.name(), summary.getConfirmedAppointments());
+        appointmentsByStatus.put(AppointmentStatus.COMPLETED.name(), summary.getCompletedAppointments());
+        appointmentsByStatus.put(AppointmentStatus.CANCELLED.name(), summary.getCancelledAppointments());
+        appointmentsByStatus.put(AppointmentStatus.NO_SHOW.name(), summary.getNoShowAppointments());
         
         // Last 7 days appointments
+        LocalDate firstDay = today.minusDays(6);
         Map<String, Long> last7DaysAppointments = new LinkedHashMap<>();
-        for (int i = 6; i >= 0; i--) {
-            LocalDate date = LocalDate.now().minusDays(i);
-            LocalDateTime dayStart = date.atStartOfDay();
-            LocalDateTime dayEnd = dayStart.plusDays(1);
-            Long count = appointmentRepository.countByBusinessIdAndAppointmentTimeBetween(businessId, dayStart, dayEnd);
-            last7DaysAppointments.put(date.toString(), count != null ? count : 0L);
+        for (int i = 0; i < 7; i++) {
+            last7DaysAppointments.put(firstDay.plusDays(i).toString(), 0L);
         }
+        for (DashboardBucketView day : statRepository.getDailyAppointments(businessId, firstDay, today)) {
+            last7DaysAppointments.put(day.getBucket(), day.getAppointments());
+        }
+        
+        // Top 5 services and employees
+        List<DashboardRankingView> rankings = statRepository.getDashboardRankings(businessId);
         
-        // Top 5 services
-        List<Map<String, Object>> topServices = serviceRepository.findByBusinessIdAndIsActiveTrue(businessId)
-                .stream()
-                .map(service -> {
-                    Long appointmentCount = appointmentRepository.countByServiceId(service.getId());
+        List<Map<String, Object>> topServices = rankings.stream()
+                .filter(row -> "SERVICE".equals(row.getKind()))
+                .sorted(Comparator.comparing(DashboardRankingView::getAppointments).reversed())
+                .limit(5)
+                .map(row -> {
                     Map<String, Object> serviceData = new HashMap<>();
-                    serviceData.put("name", service.getName());
-                    serviceData.put("appointments", appointmentCount != null ? appointmentCount : 0L);
-                    serviceData.put("revenue", service.getPrice().multiply(BigDecimal.valueOf(appointmentCount != null ? appointmentCount : 0)));
+                    serviceData.put("name", row.getName());
+                    serviceData.put("appointments", row.getAppointments());
+                    serviceData.put("revenue", row.getAmount() != null ? row.getAmount() : BigDecimal.ZERO);
                     return serviceData;
                 })
-                .sorted((a, b) -> ((Long) b.get("appointments")).compareTo((Long) a.get("appointments")))
-                .limit(5)
                 .collect(Collectors.toList());
         
-        // Top 5 employees
-        List<Map<String, Object>> topEmployees = employeeRepository.findByBusinessIdAndIsActiveTrue(businessId)
-                .stream()
-                .map(employee -> {
-                    Long appointmentCount = appointmentRepository.countByEmployeeId(employee.getId());
-                    BigDecimal earnings = appointmentRepository.getTotalEarningsByEmployeeId(employee.getId());
-                    Double rating = reviewRepository.getAverageRatingByEmployeeId(employee.getId());
-                    
+        List<Map<String, Object>> topEmployees = rankings.stream()
+                .filter(row -> "EMPLOYEE".equals(row.getKind()))
+                .sorted(Comparator.comparing(DashboardRankingView::getAppointments).reversed())
+                .limit(5)
+                .map(row -> {
                     Map<String, Object> employeeData = new HashMap<>();
-                    employeeData.put("name", employee.getName());
-                    employeeData.put("appointments", appointmentCount != null ? appointmentCount : 0L);
-                    employeeData.put("earnings", earnings != null ? earnings.doubleValue() : 0.0);
-                    employeeData.put("rating", rating != null ? rating : 0.0);
+                    employeeData.put("name", row.getName());
+                    employeeData.put("appointments", row.getAppointments());
+                    employeeData.put("earnings", row.getAmount() != null ? row.getAmount().doubleValue() : 0.0);
+                    employeeData.put("rating", row.getRating() != null ? row.getRating() : 0.0);
                     return employeeData;
                 })
-                .sorted((a, b) -> ((Long) b.get("appointments")).compareTo((Long) a.get("appointments")))
-                .limit(5)
                 .collect(Collectors.toList());
         
         return DashboardResponse.builder()
-                .totalAppointments(totalAppointments != null ? totalAppointments : 0L)
-                .todayAppointments(todayAppointments != null ? todayAppointments : 0L)
+                .totalAppointments(summary.getTotalAppointments())
+                .todayAppointments(summary.getTodayAppointments())
                 .upcomingAppointments(upcomingAppointments != null ? upcomingAppointments : 0L)
-                .completedAppointments(completedAppointments != null ? completedAppointments : 0L)
-                .cancelledAppointments(cancelledAppointments != null ? cancelledAppointments : 0L)
+                .completedAppointments(summary.getCompletedAppointments())
+                .cancelledAppointments(summary.getCancelledAppointments())
                 .totalRevenue(totalRevenue)
                 .monthlyRevenue(monthlyRevenue)
-                .averageRating(averageRating != null ? averageRating : 0.0)
+                .averageRating(averageRating)
                 .appointmentsByStatus(appointmentsByStatus)
                 .last7DaysAppointments(last7DaysAppointments)
                 .topServices(topServices)
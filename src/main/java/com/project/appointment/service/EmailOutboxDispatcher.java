@@ -0,0 +1,172 @@
+package com.project.appointment.service;
+
+import com.project.appointment.config.AsyncConfig;
+import com.project.appointment.entity.EmailOutbox;
+import com.project.appointment.entity.EmailOutboxStatus;
+import com.project.appointment.repository.EmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Polls email_outbox and delivers due messages. A batch is claimed with
+ * FOR UPDATE SKIP LOCKED and leased via locked_until, so several nodes can
+ * dispatch concurrently without sending the same message twice; a lease left by
+ * a crashed node simply expires. The lease is at least as long as the worst
+ * case for draining a batch on the mail pool with the SMTP timeouts, so an
+ * in-flight message is never re-claimed. Messages are sent in parallel on the
+ * mail executor and failures are retried with exponential backoff up to max-attempts.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+    // An SMTP exchange is several reads and writes; budget each send for two of each timeout
+    private static final int SMTP_TIMEOUTS_PER_SEND = 2;
+    private static final long LEASE_MARGIN_SECONDS = 30;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor mailExecutor;
+
+    @Value("${app.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${app.email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    @Value("${app.email.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${app.async.mail.max-pool-size:4}")
+    private int mailThreads;
+
+    @Value("${spring.mail.properties.mail.smtp.connectiontimeout:5000}")
+    private long connectTimeoutMillis;
+
+    @Value("${spring.mail.properties.mail.smtp.timeout:5000}")
+    private long readTimeoutMillis;
+
+    @Value("${spring.mail.properties.mail.smtp.writetimeout:5000}")
+    private long writeTimeoutMillis;
+
+    private long effectiveLeaseSeconds;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 EmailService emailService,
+                                 TransactionTemplate transactionTemplate,
+                                 @Qualifier(AsyncConfig.MAIL_EXECUTOR) Executor mailExecutor) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.mailExecutor = mailExecutor;
+    }
+
+    @PostConstruct
+    void init() {
+        long sendMillis = connectTimeoutMillis
+                + SMTP_TIMEOUTS_PER_SEND * (readTimeoutMillis + writeTimeoutMillis);
+        long rounds = (batchSize + mailThreads - 1) / Math.max(1, mailThreads);
+        long batchSeconds = (rounds * sendMillis + 999) / 1000 + LEASE_MARGIN_SECONDS;
+        effectiveLeaseSeconds = Math.max(leaseSeconds, batchSeconds);
+        if (effectiveLeaseSeconds > leaseSeconds) {
+            log.info("Outbox lease raised from {}s to {}s to cover a batch of {} on {} mail threads",
+                    leaseSeconds, effectiveLeaseSeconds, batchSize, mailThreads);
+        }
+    }
+
+    /**
+     * Sends one batch per poll. If the mail pool rejects a message, the rest of
+     * the batch is handed back unsent and retried on a later poll.
+     */
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval-ms:5000}")
+    public void dispatch() {
+        List<EmailOutbox> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        for (EmailOutbox message : batch) {
+            try {
+                inFlight.add(CompletableFuture.runAsync(() -> send(message), mailExecutor));
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        List<EmailOutbox> rejected = batch.subList(inFlight.size(), batch.size());
+        if (!rejected.isEmpty()) {
+            outboxRepository.releaseClaim(rejected.stream().map(EmailOutbox::getId).toList());
+            log.warn("Mail executor saturated, {} outbox emails handed back unsent", rejected.size());
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        log.debug("Dispatched {} outbox emails", inFlight.size());
+    }
+
+    @Scheduled(cron = "0 15 4 * * *")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int sent = outboxRepository.deleteByStatusAndSentAtBefore(EmailOutboxStatus.SENT, cutoff);
+        int failed = outboxRepository.deleteByStatusAndCreatedAtBefore(EmailOutboxStatus.FAILED, cutoff);
+        log.info("Purged {} sent and {} failed outbox emails", sent, failed);
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> batch = outboxRepository.lockDueBatch(now, batchSize);
+            for (EmailOutbox message : batch) {
+                message.setLockedUntil(now.plusSeconds(effectiveLeaseSeconds));
+                message.setAttempts(message.getAttempts() + 1);
+            }
+            return batch;
+        });
+    }
+
+    private void send(EmailOutbox message) {
+        try {
+            emailService.deliver(message.getRecipient(), message.getSubject(),
+                    message.getTemplateName(), message.getVariables());
+            outboxRepository.markSent(message.getId(), EmailOutboxStatus.SENT, LocalDateTime.now());
+        } catch (Exception e) {
+            boolean exhausted = message.getAttempts() >= maxAttempts;
+            long delay = backoffSeconds << Math.min(message.getAttempts() - 1, 10);
+            outboxRepository.markFailed(message.getId(),
+                    exhausted ? EmailOutboxStatus.FAILED : EmailOutboxStatus.PENDING,
+                    LocalDateTime.now().plusSeconds(delay),
+                    truncate(e.getMessage()));
+            if (exhausted) {
+                log.error("Giving up on outbox email {} to {} after {} attempts",
+                        message.getId(), message.getRecipient(), message.getAttempts(), e);
+            } else {
+                log.warn("Outbox email {} failed (attempt {}), retrying in {}s: {}",
+                        message.getId(), message.getAttempts(), delay, e.getMessage());
+            }
+        }
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.appointment.service;
+
+import com.project.appointment.entity.EmailOutbox;
+import com.project.appointment.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Queues emails in email_outbox within the caller's transaction, so a message
+ * exists only if the change that triggered it commits. Delivery is done by
+ * {@link EmailOutboxDispatcher}, never on the request thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository outboxRepository;
+
+    @Value("${app.frontend-url:http://localhost:5173}")
+    private String frontendUrl;
+
+    @Transactional
+    public void enqueue(String to, String subject, String templateName, Map<String, Object> variables) {
+        EmailOutbox message = outboxRepository.save(EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .templateName(templateName)
+                .variables(variables)
+                .build());
+        log.debug("Email {} queued for {} ({})", message.getId(), to, templateName);
+    }
+
+    public void enqueueVerification(String to, String fullName, String verificationLink) {
+        Map<String, Object> variables = Map.of(
+            "fullName", fullName,
+            "verificationLink", verificationLink
+        );
+        enqueue(to, "Verify Your Email Address", "email-verification", variables);
+    }
+
+    public void enqueuePasswordReset(String to, String fullName, String resetLink) {
+        Map<String, Object> variables = Map.of(
+            "fullName", fullName,
+            "resetLink", resetLink
+        );
+        enqueue(to, "Reset Your Password", "password-reset", variables);
+    }
+
+    public void enqueueStaffInvitation(String to, String businessName, String token) {
+        String invitationLink = frontendUrl + "/accept-invitation?token=" + token;
+        Map<String, Object> variables = Map.of(
+            "businessName", businessName,
+            "invitationLink", invitationLink
+        );
+        enqueue(to, "Staff Invitation - " + businessName, "staff-invitation", variables);
+    }
+
+    public void enqueueAppointmentConfirmation(String to, String fullName, String appointmentDetails) {
+        Map<String, Object> variables = Map.of(
+            "fullName", fullName,
+            "appointmentDetails", appointmentDetails
+        );
+        enqueue(to, "Appointment Confirmation", "appointment-confirmation", variables);
+    }
+
+    public void enqueueAppointmentReminder(String to, String fullName, String appointmentDetails) {
+        Map<String, Object> variables = Map.of(
+            "fullName", fullName,
+            "appointmentDetails", appointmentDetails
+        );
+        enqueue(to, "Appointment Reminder", "appointment-reminder", variables);
+    }
+
+    public void enqueueAppointmentCancellation(String to, String fullName, String appointmentDetails, String reason) {
+        Map<String, Object> variables = Map.of(
+            "fullName", fullName,
+            "appointmentDetails", appointmentDetails,
+            "reason", reason != null ? reason : "No reason provided"
+        );
+        enqueue(to, "Appointment Cancelled", "appointment-cancellation", variables);
+    }
+}
@@ -7,7 +7,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
@@ -28,11 +27,10 @@ public class EmailService {
     @Value("${app.name}")
     private String appName;
     
-    @Value("${app.frontend-url:http://localhost:5173}")
-    private String frontendUrl;
-    
-    @Async
-    public void sendEmail(String to, String subject, String templateName, Map<String, Object> variables) {
+    /**
+     * Renders and sends the email on the calling thread; failures are thrown to the caller.
+     */
+    public void deliver(String to, String subject, String templateName, Map<String, Object> variables) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -55,55 +53,5 @@ public class EmailService {
             throw new RuntimeException("Failed to send email", e);
         }
     }
-    
-    public void sendVerificationEmail(String to, String fullName, String verificationLink) {
-        Map<String, Object> variables = Map.of(
-            "fullName", fullName,
-            "verificationLink", verificationLink
-        );
-        sendEmail(to, "Verify Your Email Address", "email-verification", variables);
-    }
-    
-    public void sendPasswordResetEmail(String to, String fullName, String resetLink) {
-        Map<String, Object> variables = Map.of(
-            "fullName", fullName,
-            "resetLink", resetLink
-        );
-        sendEmail(to, "Reset Your Password", "password-reset", variables);
-    }
-    
-    public void sendAppointmentConfirmationEmail(String to, String fullName, String appointmentDetails) {
-        Map<String, Object> variables = Map.of(
-            "fullName", fullName,
-            "appointmentDetails", appointmentDetails
-        );
-        sendEmail(to, "Appointment Confirmation", "appointment-confirmation", variables);
-    }
-    
-    public void sendAppointmentReminderEmail(String to, String fullName, String appointmentDetails) {
-        Map<String, Object> variables = Map.of(
-            "fullName", fullName,
-            "appointmentDetails", appointmentDetails
-        );
-        sendEmail(to, "Appointment Reminder", "appointment-reminder", variables);
-    }
-    
-    public void sendAppointmentCancellationEmail(String to, String fullName, String appointmentDetails, String reason) {
-        Map<String, Object> variables = Map.of(
-            "fullName", fullName,
-            "appointmentDetails", appointmentDetails,
-            "reason", reason != null ? reason : "No reason provided"
-        );
-        sendEmail(to, "Appointment Cancelled", "appointment-cancellation", variables);
-    }
-    
-    public void sendStaffInvitationEmail(String to, String businessName, String token) {
-        String invitationLink = frontendUrl + "/accept-invitation?token=" + token;
-        Map<String, Object> variables = Map.of(
-            "businessName", businessName,
-            "invitationLink", invitationLink
-        );
-        sendEmail(to, "Staff Invitation - " + businessName, "staff-invitation", variables);
-    }
 }
 
@@ -10,7 +10,6 @@ import com.project.appointment.exception.ResourceNotFoundException;
 import com.project.appointment.repository.AppointmentRepository;
 import com.project.appointment.repository.BusinessRepository;
 import com.project.appointment.repository.EmployeeRepository;
-import com.project.appointment.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -28,7 +27,6 @@ public class EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final BusinessRepository businessRepository;
     private final AppointmentRepository appointmentRepository;
-    private final ReviewRepository reviewRepository;
     
     @Transactional
     public EmployeeResponse createEmployee(Long businessId, EmployeeRequest request, Long ownerId) {
@@ -77,7 +75,9 @@ public class EmployeeService {
         
         BigDecimal totalEarnings = appointmentRepository.getTotalEarningsByEmployeeId(employeeId);
         Long totalAppointments = appointmentRepository.countByEmployeeId(employeeId);
-        Double avgRating = reviewRepository.getAverageRatingByEmployeeId(employeeId);
+        Integer ratingCount = employee.getRatingCount();
+        Double avgRating = ratingCount != null && ratingCount > 0
+                ? employee.getRatingSum() / (double) ratingCount : null;
         
         return EmployeeAnalyticsResponse.builder()
                 .employeeId(employeeId)
@@ -0,0 +1,421 @@
+package com.project.appointment.service;
+
+import com.project.appointment.config.ReplicaRoutingDataSource;
+import com.project.appointment.config.TwoLevelCacheManager;
+import com.project.appointment.entity.Appointment;
+import com.project.appointment.entity.AppointmentStatus;
+import com.project.appointment.entity.DayOfWeek;
+import com.project.appointment.entity.WorkSchedule;
+import com.project.appointment.exception.ResourceNotFoundException;
+import com.project.appointment.repository.AppointmentRepository;
+import com.project.appointment.repository.EmployeeRepository;
+import com.project.appointment.repository.WorkScheduleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Per-employee in-memory view of non-cancelled appointments and weekly shifts
+ * for a rolling window, so booking conflict checks and slot lookups don't need
+ * a database round-trip. The database stays the final guard: timelines are
+ * loaded lazily, mutated only after commit (or rolled back with the transaction)
+ * and dropped every night so the window moves forward. Committed changes are
+ * broadcast over the cache invalidation channel so other nodes reload the
+ * employee's timeline instead of serving a stale one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeTimelineIndex {
+
+    private static final String INVALIDATION_NAME = "employeeTimeline";
+
+    private final AppointmentRepository appointmentRepository;
+    private final WorkScheduleRepository workScheduleRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TwoLevelCacheManager cacheManager;
+
+    @Value("${app.booking.timeline-window-days:60}")
+    private int windowDays;
+
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+    // Bumped on every eviction, so a timeline loaded across one is not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    void subscribe() {
+        cacheManager.onRemoteInvalidation(INVALIDATION_NAME, key -> {
+            if (key == null) {
+                dropAll();
+            } else {
+                drop(Long.valueOf(key));
+            }
+        });
+    }
+
+    /**
+     * Whether the [from, to) range falls inside the employee's loaded window.
+     * Callers must fall back to the database when this returns false.
+     */
+    public boolean covers(Long employeeId, LocalDateTime from, LocalDateTime to) {
+        Timeline timeline = timeline(employeeId);
+        return toEpoch(from) >= timeline.coveredFrom && toEpoch(to) <= timeline.coveredTo;
+    }
+
+    /**
+     * Whether the employee has an appointment overlapping [start, end). A hit in
+     * the cached timeline is only a hint (the booking may have been cancelled on
+     * another node), so it is confirmed against a fresh load before returning true.
+     */
+    public boolean hasConflict(Long employeeId, LocalDateTime start, LocalDateTime end) {
+        Timeline cached = timeline(employeeId);
+        if (!cached.intervals.overlaps(toEpoch(start), toEpoch(end))) {
+            return false;
+        }
+        timelines.remove(employeeId, cached);
+        return timeline(employeeId).intervals.overlaps(toEpoch(start), toEpoch(end));
+    }
+
+    public List<BusyRange> findBusy(Long employeeId, LocalDateTime from, LocalDateTime to) {
+        return timeline(employeeId).intervals.between(toEpoch(from), toEpoch(to));
+    }
+
+    public Optional<Shift> findShift(Long employeeId, DayOfWeek dayOfWeek) {
+        return Optional.ofNullable(timeline(employeeId).shifts.get(dayOfWeek));
+    }
+
+    /**
+     * Atomically checks the employee's timeline for overlaps and records the
+     * appointment. The entry is removed again if the surrounding transaction
+     * rolls back. Returns false when an overlapping appointment is already held.
+     */
+    public boolean tryReserve(Appointment appointment) {
+        if (appointment.getEmployee() == null) {
+            return true;
+        }
+        Long employeeId = appointment.getEmployee().getId();
+        Long appointmentId = appointment.getId();
+        long start = toEpoch(appointment.getStartTime());
+        long end = toEpoch(appointment.getEndTime());
+
+        // Loaded inside the booking transaction, the timeline may already hold this
+        // (uncommitted) appointment, so the rollback cleanup is registered up front
+        Timeline timeline = timeline(employeeId);
+        afterCompletion(committed -> {
+            Timeline current = timelines.get(employeeId);
+            if (committed) {
+                if (current != null) {
+                    current.upsert(appointmentId, start, end);
+                }
+                broadcast(employeeId);
+            } else {
+                timeline.remove(appointmentId);
+                if (current != null && current != timeline) {
+                    current.remove(appointmentId);
+                }
+            }
+        });
+
+        if (start < timeline.coveredFrom || end > timeline.coveredTo) {
+            return true;
+        }
+        return timeline.tryInsert(appointmentId, start, end);
+    }
+
+    /**
+     * Re-applies the appointment's current status and time range to the index
+     * once the surrounding transaction commits.
+     */
+    public void sync(Appointment appointment) {
+        if (appointment.getEmployee() == null) {
+            return;
+        }
+        Long employeeId = appointment.getEmployee().getId();
+        Long appointmentId = appointment.getId();
+        boolean active = appointment.getStatus() != AppointmentStatus.CANCELLED;
+        long start = toEpoch(appointment.getStartTime());
+        long end = toEpoch(appointment.getEndTime());
+
+        afterCommit(() -> {
+            Timeline timeline = timelines.get(employeeId);
+            broadcast(employeeId);
+            if (timeline == null) {
+                return;
+            }
+            if (active) {
+                timeline.upsert(appointmentId, start, end);
+            } else {
+                timeline.remove(appointmentId);
+            }
+        });
+    }
+
+    /**
+     * Drops the cached timeline (e.g. after a schedule change) once the
+     * surrounding transaction commits; it is reloaded on next access.
+     */
+    public void evict(Long employeeId) {
+        afterCommit(() -> {
+            drop(employeeId);
+            broadcast(employeeId);
+        });
+    }
+
+    @Scheduled(cron = "0 0 0 * * *")
+    public void roll() {
+        int size = timelines.size();
+        dropAll();
+        log.info("Employee timeline index rolled, {} timelines dropped", size);
+    }
+
+    private Timeline timeline(Long employeeId) {
+        Timeline cached = timelines.get(employeeId);
+        if (cached != null) {
+            return cached;
+        }
+        // Loaded outside the map so the queries don't hold a ConcurrentHashMap bin lock; concurrent
+        // loaders keep whichever copy landed first. From the primary: a timeline read from a
+        // lagging replica would be cached stale.
+        long generation = evictions.get();
+        Timeline loaded = ReplicaRoutingDataSource.onPrimary(() -> load(employeeId));
+        Timeline existing = timelines.putIfAbsent(employeeId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (evictions.get() != generation) {
+            timelines.remove(employeeId, loaded);
+        }
+        return loaded;
+    }
+
+    private void drop(Long employeeId) {
+        evictions.incrementAndGet();
+        timelines.remove(employeeId);
+    }
+
+    private void dropAll() {
+        evictions.incrementAndGet();
+        timelines.clear();
+    }
+
+    private Timeline load(Long employeeId) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new ResourceNotFoundException("Employee not found");
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDateTime loadFrom = today.minusDays(1).atStartOfDay();
+        LocalDateTime coveredFrom = today.atStartOfDay();
+        LocalDateTime coveredTo = today.plusDays(windowDays).atStartOfDay();
+
+        Map<DayOfWeek, Shift> shifts = new EnumMap<>(DayOfWeek.class);
+        for (WorkSchedule schedule : workScheduleRepository.findByEmployeeId(employeeId)) {
+            shifts.put(schedule.getDayOfWeek(), new Shift(
+                    schedule.getStartTime(),
+                    schedule.getEndTime(),
+                    Boolean.TRUE.equals(schedule.getIsActive())));
+        }
+
+        List<Appointment> appointments = appointmentRepository.findByEmployeeIdAndAppointmentTimeBetweenAndStatusNot(
+                employeeId, loadFrom, coveredTo, AppointmentStatus.CANCELLED);
+
+        Intervals intervals = Intervals.EMPTY;
+        for (Appointment appointment : appointments) {
+            intervals = intervals.with(appointment.getId(),
+                    toEpoch(appointment.getStartTime()),
+                    toEpoch(appointment.getEndTime()));
+        }
+
+        log.debug("Loaded timeline for employee {}: {} appointments, {} shifts",
+                employeeId, appointments.size(), shifts.size());
+        return new Timeline(toEpoch(coveredFrom), toEpoch(coveredTo), shifts, intervals);
+    }
+
+    private void broadcast(Long employeeId) {
+        cacheManager.broadcastInvalidation(INVALIDATION_NAME, String.valueOf(employeeId));
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long toEpoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpoch(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    public record Shift(LocalTime startTime, LocalTime endTime, boolean active) {
+    }
+
+    public record BusyRange(LocalDateTime startTime, LocalDateTime endTime) {
+    }
+
+    private static final class Timeline {
+        private final long coveredFrom;
+        private final long coveredTo;
+        private final Map<DayOfWeek, Shift> shifts;
+        private volatile Intervals intervals;
+
+        private Timeline(long coveredFrom, long coveredTo, Map<DayOfWeek, Shift> shifts, Intervals intervals) {
+            this.coveredFrom = coveredFrom;
+            this.coveredTo = coveredTo;
+            this.shifts = shifts;
+            this.intervals = intervals;
+        }
+
+        synchronized boolean tryInsert(long id, long start, long end) {
+            // A timeline loaded inside the booking transaction already contains this appointment
+            Intervals others = intervals.without(id);
+            if (others.overlaps(start, end)) {
+                return false;
+            }
+            intervals = others.with(id, start, end);
+            return true;
+        }
+
+        synchronized void upsert(long id, long start, long end) {
+            intervals = intervals.without(id).with(id, start, end);
+        }
+
+        synchronized void remove(long id) {
+            intervals = intervals.without(id);
+        }
+    }
+
+    /**
+     * Immutable, start-sorted interval arrays. {@code maxEnds[i]} is the largest
+     * end among entries 0..i, which keeps overlap checks O(log n) even if legacy
+     * data contains overlapping appointments.
+     */
+    private record Intervals(long[] ids, long[] starts, long[] ends, long[] maxEnds) {
+
+        static final Intervals EMPTY = new Intervals(new long[0], new long[0], new long[0], new long[0]);
+
+        boolean overlaps(long start, long end) {
+            int upper = firstStartAtOrAfter(end);
+            return upper > 0 && maxEnds[upper - 1] > start;
+        }
+
+        List<BusyRange> between(long from, long to) {
+            int upper = firstStartAtOrAfter(to);
+            List<BusyRange> ranges = new ArrayList<>();
+            for (int i = 0; i < upper; i++) {
+                if (ends[i] > from) {
+                    ranges.add(new BusyRange(fromEpoch(starts[i]), fromEpoch(ends[i])));
+                }
+            }
+            return ranges;
+        }
+
+        Intervals with(long id, long start, long end) {
+            int n = starts.length;
+            int pos = firstStartAtOrAfter(start);
+            long[] newIds = new long[n + 1];
+            long[] newStarts = new long[n + 1];
+            long[] newEnds = new long[n + 1];
+            copyWithGap(ids, newIds, pos);
+            copyWithGap(starts, newStarts, pos);
+            copyWithGap(ends, newEnds, pos);
+            newIds[pos] = id;
+            newStarts[pos] = start;
+            newEnds[pos] = end;
+            return new Intervals(newIds, newStarts, newEnds, prefixMax(newEnds));
+        }
+
+        Intervals without(long id) {
+            int pos = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    pos = i;
+                    break;
+                }
+            }
+            if (pos < 0) {
+                return this;
+            }
+            long[] newIds = removeAt(ids, pos);
+            long[] newStarts = removeAt(starts, pos);
+            long[] newEnds = removeAt(ends, pos);
+            return new Intervals(newIds, newStarts, newEnds, prefixMax(newEnds));
+        }
+
+        private int firstStartAtOrAfter(long value) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static void copyWithGap(long[] source, long[] target, int pos) {
+            System.arraycopy(source, 0, target, 0, pos);
+            System.arraycopy(source, pos, target, pos + 1, source.length - pos);
+        }
+
+        private static long[] removeAt(long[] source, int pos) {
+            long[] target = Arrays.copyOf(source, source.length - 1);
+            System.arraycopy(source, pos + 1, target, pos, source.length - pos - 1);
+            return target;
+        }
+
+        private static long[] prefixMax(long[] values) {
+            long[] max = new long[values.length];
+            long current = Long.MIN_VALUE;
+            for (int i = 0; i < values.length; i++) {
+                current = Math.max(current, values[i]);
+                max[i] = current;
+            }
+            return max;
+        }
+    }
+}
@@ -8,7 +8,6 @@ import com.project.appointment.exception.BusinessException;
 import com.project.appointment.exception.ResourceNotFoundException;
 import com.project.appointment.repository.BusinessRepository;
 import com.project.appointment.repository.FavoriteRepository;
-import com.project.appointment.repository.ReviewRepository;
 import com.project.appointment.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,7 +25,6 @@ public class FavoriteService {
     private final FavoriteRepository favoriteRepository;
     private final BusinessRepository businessRepository;
     private final UserRepository userRepository;
-    private final ReviewRepository reviewRepository;
     
     @Transactional
     public void addFavorite(Long businessId, Long userId) {
@@ -48,6 +46,7 @@ public class FavoriteService {
                 .build();
         
         favoriteRepository.save(favorite);
+        businessRepository.adjustFavoriteCount(businessId, 1);
         log.info("Business {} added to favorites by user {}", businessId, userId);
     }
     
@@ -57,6 +56,7 @@ public class FavoriteService {
                 .orElseThrow(() -> new ResourceNotFoundException("Favorite not found"));
         
         favoriteRepository.delete(favorite);
+        businessRepository.adjustFavoriteCount(businessId, -1);
         log.info("Business {} removed from favorites by user {}", businessId, userId);
     }
     
@@ -76,9 +76,6 @@ public class FavoriteService {
     }
     
     private BusinessResponse mapBusinessToResponse(Business business) {
-        Double avgRating = reviewRepository.getAverageRatingByBusinessId(business.getId());
-        Long favoriteCount = favoriteRepository.countByBusinessId(business.getId());
-        
         return BusinessResponse.builder()
                 .id(business.getId())
                 .ownerId(business.getOwnerId())
@@ -87,16 +84,22 @@ public class FavoriteService {
                 .category(business.getCategory())
                 .address(business.getAddress())
                 .city(business.getCity())
+                .latitude(business.getLatitude())
+                .longitude(business.getLongitude())
                 .businessType(business.getBusinessType())
                 .phone(business.getPhone())
                 .email(business.getEmail())
                 .imageUrl(business.getImageUrl())
                 .isActive(business.getIsActive())
-                .averageRating(avgRating)
-                .favoriteCount(favoriteCount)
+                .averageRating(averageRating(business))
+                .favoriteCount(business.getFavoriteCount() != null ? business.getFavoriteCount().longValue() : 0L)
                 .createdAt(business.getCreatedAt())
                 .updatedAt(business.getUpdatedAt())
                 .build();
     }
+    
+    private static Double averageRating(Business business) {
+        Integer count = business.getRatingCount();
+        return count != null && count > 0 ? business.getRatingSum() / (double) count : null;
+    }
 }
-
@@ -0,0 +1,136 @@
+package com.project.appointment.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by string ids. The lowest level has
+ * {@code wheelSize} buckets of {@code tickMillis}; each higher level's tick is
+ * the full span of the level below and is created on demand, so far-off
+ * deadlines cost O(1) to insert and are cascaded down as time approaches.
+ * Entries fire on the first tick at or after their deadline, never early.
+ * Not thread-safe; callers synchronize.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final Level<T> root;
+    private final Map<String, Entry<T>> entries = new HashMap<>();
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.root = new Level<>(tickMillis, wheelSize, startMillis);
+    }
+
+    /**
+     * Schedules (or reschedules) {@code key}. Returns false without scheduling
+     * when the deadline has already been reached, in which case the caller
+     * should act immediately.
+     */
+    public boolean schedule(String key, long deadlineMillis, T payload) {
+        cancel(key);
+        // Round up so the entry's bucket is drained no earlier than the deadline itself
+        Entry<T> entry = new Entry<>(key, deadlineMillis + tickMillis - 1, payload);
+        if (!root.add(entry)) {
+            return false;
+        }
+        entries.put(key, entry);
+        return true;
+    }
+
+    public void cancel(String key) {
+        Entry<T> entry = entries.remove(key);
+        if (entry != null) {
+            entry.cancelled = true;
+        }
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns every payload whose deadline was reached.
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        root.advance(nowMillis, entry -> {
+            if (entry.cancelled) {
+                return;
+            }
+            if (!root.add(entry)) {
+                entries.remove(entry.key);
+                due.add(entry.payload);
+            }
+        });
+        return due;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<T> {
+        private final String key;
+        private final long deadline;
+        private final T payload;
+        private boolean cancelled;
+
+        private Entry(String key, long deadline, T payload) {
+            this.key = key;
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+    }
+
+    private interface Redistributor<T> {
+        void accept(Entry<T> entry);
+    }
+
+    private static final class Level<T> {
+        private final long tick;
+        private final int size;
+        private final long interval;
+        private final List<List<Entry<T>>> buckets;
+        private long currentTime;
+        private Level<T> overflow;
+
+        private Level(long tick, int size, long startMillis) {
+            this.tick = tick;
+            this.size = size;
+            this.interval = tick * size;
+            this.currentTime = startMillis - (startMillis % tick);
+            this.buckets = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        boolean add(Entry<T> entry) {
+            if (entry.deadline < currentTime + tick) {
+                return false;
+            }
+            if (entry.deadline < currentTime + interval) {
+                buckets.get((int) ((entry.deadline / tick) % size)).add(entry);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level<>(interval, size, currentTime);
+            }
+            return overflow.add(entry);
+        }
+
+        void advance(long time, Redistributor<T> redistribute) {
+            while (time >= currentTime + tick) {
+                currentTime += tick;
+                List<Entry<T>> bucket = buckets.get((int) ((currentTime / tick) % size));
+                if (!bucket.isEmpty()) {
+                    List<Entry<T>> drained = new ArrayList<>(bucket);
+                    bucket.clear();
+                    drained.forEach(redistribute::accept);
+                }
+            }
+            if (overflow != null) {
+                overflow.advance(currentTime, redistribute);
+            }
+        }
+    }
+}
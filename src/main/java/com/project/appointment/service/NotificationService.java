@@ -1,5 +1,7 @@
 package com.project.appointment.service;
 
+import com.project.appointment.dto.request.PageCursor;
+import com.project.appointment.dto.response.CursorPage;
 import com.project.appointment.dto.response.NotificationResponse;
 import com.project.appointment.entity.Notification;
 import com.project.appointment.entity.NotificationType;
@@ -10,10 +12,13 @@ import com.project.appointment.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -44,6 +49,16 @@ public class NotificationService {
                 .map(this::mapToResponse);
     }
     
+    public CursorPage<NotificationResponse> getUserNotificationsByCursor(Long userId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Notification> rows = after == null
+                ? notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : notificationRepository.findUserPageAfter(userId, after.timeKey(), after.id(), limit);
+        return CursorPage.of(rows, size, this::mapToResponse,
+                n -> PageCursor.of(n.getCreatedAt(), n.getId()).encode());
+    }
+    
     public Long getUnreadCount(Long userId) {
         return notificationRepository.countByUserIdAndIsReadFalse(userId);
     }
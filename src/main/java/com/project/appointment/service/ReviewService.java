@@ -1,6 +1,8 @@
 package com.project.appointment.service;
 
+import com.project.appointment.dto.request.PageCursor;
 import com.project.appointment.dto.request.ReviewRequest;
+import com.project.appointment.dto.response.CursorPage;
 import com.project.appointment.dto.response.ReviewResponse;
 import com.project.appointment.entity.Appointment;
 import com.project.appointment.entity.AppointmentStatus;
@@ -8,10 +10,13 @@ import com.project.appointment.entity.Review;
 import com.project.appointment.exception.BusinessException;
 import com.project.appointment.exception.ResourceNotFoundException;
 import com.project.appointment.repository.AppointmentRepository;
+import com.project.appointment.repository.BusinessRepository;
+import com.project.appointment.repository.EmployeeRepository;
 import com.project.appointment.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +30,9 @@ public class ReviewService {
     
     private final ReviewRepository reviewRepository;
     private final AppointmentRepository appointmentRepository;
+    private final BusinessRepository businessRepository;
+    private final EmployeeRepository employeeRepository;
+    private final BusinessStatsService statsService;
     
     @Transactional
     public ReviewResponse createReview(Long appointmentId, ReviewRequest request, Long userId) {
@@ -53,6 +61,7 @@ public class ReviewService {
                 .build();
         
         review = reviewRepository.save(review);
+        recordRating(review, review.getRating(), 1);
         log.info("Review created: {} for appointment: {}", review.getId(), appointmentId);
         
         return mapToResponse(review);
@@ -82,6 +91,7 @@ public class ReviewService {
         }
         
         if (request.getRating() != null) {
+            recordRating(review, request.getRating() - review.getRating(), 0);
             review.setRating(request.getRating());
         }
         
@@ -105,14 +115,51 @@ public class ReviewService {
         }
         
         reviewRepository.delete(review);
+        recordRating(review, -review.getRating(), -1);
         log.info("Review deleted: {} by user: {}", reviewId, userId);
     }
     
+    @Transactional(readOnly = true)
     public Page<ReviewResponse> getBusinessReviews(Long businessId, Pageable pageable) {
         return reviewRepository.findByBusinessId(businessId, pageable)
                 .map(this::mapToResponse);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewResponse> getBusinessReviewsByCursor(Long businessId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Review> rows = after == null
+                ? reviewRepository.findByBusinessIdOrderByCreatedAtDescIdDesc(businessId, limit)
+                : reviewRepository.findBusinessPageAfter(businessId, after.timeKey(), after.id(), limit);
+        return toCursorPage(rows, size);
+    }
+    
+    public CursorPage<ReviewResponse> getUserReviewsByCursor(Long userId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Review> rows = after == null
+                ? reviewRepository.findByCustomerIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : reviewRepository.findCustomerPageAfter(userId, after.timeKey(), after.id(), limit);
+        return toCursorPage(rows, size);
+    }
+    
+    /**
+     * Applies a rating change to the daily rollup and the business/employee counters in the caller's transaction.
+     */
+    private void recordRating(Review review, int ratingDelta, int countDelta) {
+        statsService.recordRating(review, ratingDelta, countDelta);
+        businessRepository.adjustRating(review.getBusiness().getId(), ratingDelta, countDelta);
+        if (review.getEmployee() != null) {
+            employeeRepository.adjustRating(review.getEmployee().getId(), ratingDelta, countDelta);
+        }
+    }
+    
+    private CursorPage<ReviewResponse> toCursorPage(List<Review> rows, int size) {
+        return CursorPage.of(rows, size, this::mapToResponse,
+                r -> PageCursor.of(r.getCreatedAt(), r.getId()).encode());
+    }
+    
     private ReviewResponse mapToResponse(Review review) {
         return ReviewResponse.builder()
                 .id(review.getId())
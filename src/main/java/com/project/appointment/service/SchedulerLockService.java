@@ -0,0 +1,46 @@
+package com.project.appointment.service;
+
+import com.project.appointment.repository.SchedulerLockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database leases for scheduled jobs that must run on a single node. A lease
+ * that is never released (e.g. the node died) expires on its own.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SchedulerLockService {
+
+    private final SchedulerLockRepository lockRepository;
+
+    private final String owner = hostName() + ":" + UUID.randomUUID();
+
+    public boolean tryAcquire(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean acquired = lockRepository.tryAcquire(name, owner, now, now.plus(lease)) > 0;
+        if (!acquired) {
+            log.debug("Scheduler lock '{}' is held by another node", name);
+        }
+        return acquired;
+    }
+
+    public void release(String name) {
+        lockRepository.release(name, owner, LocalDateTime.now());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
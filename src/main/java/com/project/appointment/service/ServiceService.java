@@ -11,6 +11,7 @@ import com.project.appointment.repository.BusinessRepository;
 import com.project.appointment.repository.ServiceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +26,7 @@ public class ServiceService {
     private final ServiceRepository serviceRepository;
     private final BusinessRepository businessRepository;
     private final AppointmentRepository appointmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional
     public ServiceResponse createService(Long businessId, ServiceRequest request, Long ownerId) {
@@ -49,6 +51,7 @@ public class ServiceService {
                 .build();
         
         service = serviceRepository.save(service);
+        eventPublisher.publishEvent(new BusinessChangedEvent(businessId));
         log.info("Service created: {} for business: {}", service.getId(), businessId);
         
         return mapToResponse(service);
@@ -82,6 +85,7 @@ public class ServiceService {
         if (request.getPrice() != null) service.setPrice(request.getPrice());
         
         service = serviceRepository.save(service);
+        eventPublisher.publishEvent(new BusinessChangedEvent(service.getBusiness().getId()));
         log.info("Service updated: {}", service.getId());
         
         return mapToResponse(service);
@@ -104,6 +108,7 @@ public class ServiceService {
         
         service.setIsActive(false);
         serviceRepository.save(service);
+        eventPublisher.publishEvent(new BusinessChangedEvent(service.getBusiness().getId()));
         log.info("Service deleted (soft): {}", serviceId);
     }
     
@@ -0,0 +1,148 @@
+package com.project.appointment.service;
+
+import com.project.appointment.exception.BusinessException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bitmap of one employee-day at a fixed granularity. Bit {@code i} stands for
+ * the cell starting {@code i * granularity} minutes after midnight; a set bit
+ * means the cell is unavailable. Every cell starts blocked, shifts are opened,
+ * appointments are blocked again, and free runs are found with word-level
+ * shift-and scans instead of comparing every slot against every appointment.
+ */
+public final class SlotGrid {
+
+    public static final Set<Integer> SUPPORTED_GRANULARITIES = Set.of(5, 10, 15, 30);
+
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final LocalDateTime dayStart;
+    private final int granularityMinutes;
+    private final int cellSeconds;
+    private final int cells;
+    private final long[] blocked;
+
+    public SlotGrid(LocalDate date, int granularityMinutes) {
+        if (!SUPPORTED_GRANULARITIES.contains(granularityMinutes)) {
+            throw new BusinessException("Granularity must be one of 5, 10, 15 or 30 minutes");
+        }
+        this.dayStart = date.atStartOfDay();
+        this.granularityMinutes = granularityMinutes;
+        this.cellSeconds = granularityMinutes * 60;
+        this.cells = SECONDS_PER_DAY / cellSeconds;
+        this.blocked = new long[(cells + 63) >>> 6];
+        setRange(0, cells);
+    }
+
+    /**
+     * Marks the cells lying completely inside [from, to) as available.
+     */
+    public void open(LocalTime from, LocalTime to) {
+        int fromCell = ceilDiv(from.toSecondOfDay(), cellSeconds);
+        int toCell = to.toSecondOfDay() / cellSeconds;
+        clearRange(fromCell, toCell);
+    }
+
+    /**
+     * Marks every cell touching [from, to) as unavailable; the range is clipped to this day.
+     */
+    public void block(LocalDateTime from, LocalDateTime to) {
+        long fromSecond = Math.max(0, secondsSinceDayStart(from));
+        long toSecond = Math.min(SECONDS_PER_DAY, secondsSinceDayStart(to));
+        if (fromSecond >= toSecond) {
+            return;
+        }
+        setRange((int) (fromSecond / cellSeconds), ceilDiv((int) toSecond, cellSeconds));
+    }
+
+    /**
+     * Start times of every run of free cells long enough for the given duration.
+     */
+    public List<LocalDateTime> freeStarts(int durationMinutes) {
+        if (durationMinutes <= 0) {
+            throw new BusinessException("Duration must be positive");
+        }
+        int needed = ceilDiv(durationMinutes, granularityMinutes);
+
+        long[] runs = new long[blocked.length];
+        for (int i = 0; i < blocked.length; i++) {
+            runs[i] = ~blocked[i];
+        }
+        int tailBits = cells & 63;
+        if (tailBits != 0) {
+            runs[runs.length - 1] &= (1L << tailBits) - 1;
+        }
+
+        // After each step bit p is set iff cells p .. p + covered - 1 are all free
+        int covered = 1;
+        while (covered < needed) {
+            int shift = Math.min(covered, needed - covered);
+            andShiftedDown(runs, shift);
+            covered += shift;
+        }
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (int w = 0; w < runs.length; w++) {
+            long word = runs[w];
+            while (word != 0) {
+                int cell = (w << 6) + Long.numberOfTrailingZeros(word);
+                starts.add(dayStart.plusMinutes((long) cell * granularityMinutes));
+                word &= word - 1;
+            }
+        }
+        return starts;
+    }
+
+    private long secondsSinceDayStart(LocalDateTime time) {
+        return Duration.between(dayStart, time).getSeconds();
+    }
+
+    private void setRange(int fromCell, int toCell) {
+        for (int cell = fromCell; cell < toCell; ) {
+            int word = cell >>> 6;
+            int end = Math.min(toCell, (word + 1) << 6);
+            blocked[word] |= rangeMask(cell & 63, end - cell);
+            cell = end;
+        }
+    }
+
+    private void clearRange(int fromCell, int toCell) {
+        for (int cell = fromCell; cell < toCell; ) {
+            int word = cell >>> 6;
+            int end = Math.min(toCell, (word + 1) << 6);
+            blocked[word] &= ~rangeMask(cell & 63, end - cell);
+            cell = end;
+        }
+    }
+
+    private static long rangeMask(int offset, int length) {
+        long mask = length == 64 ? -1L : (1L << length) - 1;
+        return mask << offset;
+    }
+
+    /**
+     * words &= (words >> shift), treating the array as one little-endian bit string
+     * and bits past the end as zero.
+     */
+    private static void andShiftedDown(long[] words, int shift) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int i = 0; i < words.length; i++) {
+            int source = i + wordShift;
+            long low = source < words.length ? words[source] >>> bitShift : 0L;
+            long high = bitShift != 0 && source + 1 < words.length ? words[source + 1] << (64 - bitShift) : 0L;
+            words[i] &= low | high;
+        }
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+}
@@ -4,6 +4,7 @@ import com.project.appointment.entity.*;
 import com.project.appointment.exception.BusinessException;
 import com.project.appointment.exception.ResourceNotFoundException;
 import com.project.appointment.repository.*;
+import com.project.appointment.security.UserStatusCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,7 +23,8 @@ public class StaffInvitationService {
     private final BusinessRepository businessRepository;
     private final EmployeeRepository employeeRepository;
     private final UserRepository userRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
+    private final UserStatusCache userStatusCache;
     
     @Transactional
     public StaffInvitation sendInvitation(Long businessId, String email, Long ownerId) {
@@ -55,7 +57,7 @@ public class StaffInvitationService {
         invitation = invitationRepository.save(invitation);
         
         // Send invitation email
-        emailService.sendStaffInvitationEmail(email, business.getName(), token);
+        emailOutboxService.enqueueStaffInvitation(email, business.getName(), token);
         
         log.info("Staff invitation sent to {} for business {}", email, businessId);
         return invitation;
@@ -144,6 +146,7 @@ public class StaffInvitationService {
                 log.debug("Updating user {} role to STAFF", userId);
                 user.setRole(Role.STAFF);
                 userRepository.save(user);
+                userStatusCache.evict(userId);
             }
             
             // Update invitation status
@@ -24,6 +24,7 @@ public class WorkScheduleService {
     
     private final WorkScheduleRepository workScheduleRepository;
     private final EmployeeRepository employeeRepository;
+    private final EmployeeTimelineIndex timelineIndex;
     
     @Transactional
     public WorkScheduleResponse createWorkSchedule(Long employeeId, WorkScheduleRequest request, Long ownerId) {
@@ -46,6 +47,7 @@ public class WorkScheduleService {
                 .build();
         
         schedule = workScheduleRepository.save(schedule);
+        timelineIndex.evict(employeeId);
         log.info("Work schedule created: {} for employee: {}", schedule.getId(), employeeId);
         
         return mapToResponse(schedule);
@@ -72,6 +74,7 @@ public class WorkScheduleService {
         if (request.getEndTime() != null) schedule.setEndTime(request.getEndTime());
         
         schedule = workScheduleRepository.save(schedule);
+        timelineIndex.evict(schedule.getEmployee().getId());
         log.info("Work schedule updated: {}", schedule.getId());
         
         return mapToResponse(schedule);
@@ -87,6 +90,7 @@ public class WorkScheduleService {
         }
         
         workScheduleRepository.delete(schedule);
+        timelineIndex.evict(schedule.getEmployee().getId());
         log.info("Work schedule deleted: {}", scheduleId);
     }
     
@@ -120,6 +124,7 @@ public class WorkScheduleService {
                 .collect(Collectors.toList());
         
         List<WorkSchedule> savedSchedules = workScheduleRepository.saveAll(newSchedules);
+        timelineIndex.evict(employeeId);
         log.info("Updated {} schedules for employee: {}", savedSchedules.size(), employeeId);
         
         return savedSchedules.stream()
@@ -156,6 +161,7 @@ public class WorkScheduleService {
                 .collect(Collectors.toList());
         
         List<WorkSchedule> savedSchedules = workScheduleRepository.saveAll(newSchedules);
+        timelineIndex.evict(employee.getId());
         log.info("Employee {} updated {} schedules for themselves", userId, savedSchedules.size());
         
         return savedSchedules.stream()
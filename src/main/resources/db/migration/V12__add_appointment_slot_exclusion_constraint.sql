@@ -0,0 +1,48 @@
+-- Enforce non-overlapping appointments per employee at the database level
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Existing data must satisfy the constraint; fail with a clear message instead of a
+-- generic range/exclusion error so the offending rows can be fixed by hand first
+DO $$
+DECLARE
+    inverted_ids TEXT;
+    overlapping_ids TEXT;
+BEGIN
+    SELECT string_agg(id::TEXT, ', ' ORDER BY id)
+    INTO inverted_ids
+    FROM appointments
+    WHERE end_time < start_time;
+
+    IF inverted_ids IS NOT NULL THEN
+        RAISE EXCEPTION 'Cannot add appointment slot constraint: appointments with end_time before start_time: %',
+            inverted_ids;
+    END IF;
+
+    SELECT string_agg(a.id::TEXT || '/' || b.id::TEXT, ', ' ORDER BY a.id, b.id)
+    INTO overlapping_ids
+    FROM appointments a
+    JOIN appointments b
+        ON b.employee_id = a.employee_id
+        AND b.id > a.id
+        AND b.start_time < a.end_time
+        AND b.end_time > a.start_time
+    WHERE a.status <> 'CANCELLED'
+      AND b.status <> 'CANCELLED';
+
+    IF overlapping_ids IS NOT NULL THEN
+        RAISE EXCEPTION 'Cannot add appointment slot constraint: overlapping non-cancelled appointments (id pairs): %',
+            overlapping_ids;
+    END IF;
+END $$;
+
+-- Legacy rows without end_time get a NULL slot and are ignored by the constraint
+ALTER TABLE appointments
+    ADD COLUMN IF NOT EXISTS slot TSRANGE
+        GENERATED ALWAYS AS (
+            CASE WHEN end_time IS NOT NULL THEN tsrange(start_time, end_time, '[)') END
+        ) STORED;
+
+ALTER TABLE appointments
+    ADD CONSTRAINT ex_appointment_employee_slot
+        EXCLUDE USING gist (employee_id WITH =, slot WITH &&)
+        WHERE (status <> 'CANCELLED');
@@ -0,0 +1,24 @@
+-- Daily rollup of appointment and review figures per business, service and employee.
+-- service_id / employee_id use 0 for appointments without a service or employee.
+CREATE TABLE IF NOT EXISTS business_daily_stats (
+    id BIGSERIAL PRIMARY KEY,
+    business_id BIGINT NOT NULL,
+    stat_date DATE NOT NULL,
+    service_id BIGINT NOT NULL DEFAULT 0,
+    employee_id BIGINT NOT NULL DEFAULT 0,
+    total_count INT NOT NULL DEFAULT 0,
+    pending_count INT NOT NULL DEFAULT 0,
+    confirmed_count INT NOT NULL DEFAULT 0,
+    completed_count INT NOT NULL DEFAULT 0,
+    cancelled_count INT NOT NULL DEFAULT 0,
+    no_show_count INT NOT NULL DEFAULT 0,
+    paid_revenue DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    rating_sum INT NOT NULL DEFAULT 0,
+    rating_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    CONSTRAINT fk_daily_stats_business FOREIGN KEY (business_id) REFERENCES businesses(id) ON DELETE CASCADE,
+    CONSTRAINT uk_daily_stats_key UNIQUE (business_id, stat_date, service_id, employee_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_daily_stats_employee ON business_daily_stats(employee_id, stat_date);
@@ -0,0 +1,7 @@
+-- Lease-based locks so a scheduled job runs on only one node at a time
+CREATE TABLE IF NOT EXISTS scheduler_locks (
+    name VARCHAR(100) PRIMARY KEY,
+    locked_until TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255) NOT NULL,
+    locked_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,9 @@
+-- One row per reminder queued; the unique key stops other nodes (and restarts) from sending it twice
+CREATE TABLE IF NOT EXISTS appointment_reminders (
+    id BIGSERIAL PRIMARY KEY,
+    appointment_id BIGINT NOT NULL,
+    offset_minutes INT NOT NULL,
+    sent_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_appointment_reminders UNIQUE (appointment_id, offset_minutes),
+    CONSTRAINT fk_reminder_appointment FOREIGN KEY (appointment_id) REFERENCES appointments(id) ON DELETE CASCADE
+);
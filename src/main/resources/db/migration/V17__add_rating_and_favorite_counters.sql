@@ -0,0 +1,17 @@
+-- Denormalized counters so listings don't aggregate reviews/favorites per row;
+-- kept in step by the review/favorite services and repaired nightly
+ALTER TABLE businesses ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE businesses ADD COLUMN IF NOT EXISTS rating_count INT NOT NULL DEFAULT 0;
+ALTER TABLE businesses ADD COLUMN IF NOT EXISTS favorite_count INT NOT NULL DEFAULT 0;
+
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS rating_count INT NOT NULL DEFAULT 0;
+
+UPDATE businesses b SET
+    rating_sum = COALESCE((SELECT SUM(r.rating) FROM reviews r WHERE r.business_id = b.id), 0),
+    rating_count = (SELECT COUNT(*) FROM reviews r WHERE r.business_id = b.id),
+    favorite_count = (SELECT COUNT(*) FROM favorites f WHERE f.business_id = b.id);
+
+UPDATE employees e SET
+    rating_sum = COALESCE((SELECT SUM(r.rating) FROM reviews r WHERE r.employee_id = e.id), 0),
+    rating_count = (SELECT COUNT(*) FROM reviews r WHERE r.employee_id = e.id);
@@ -0,0 +1,16 @@
+-- Weighted full-text document for business search (name > category > city > description).
+-- 'simple' config: names and cities are proper nouns and content is mixed-language, so no stemming.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE businesses ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', COALESCE(name, '')), 'A') ||
+        setweight(to_tsvector('simple', COALESCE(category, '')), 'B') ||
+        setweight(to_tsvector('simple', COALESCE(city, '')), 'C') ||
+        setweight(to_tsvector('simple', COALESCE(description, '')), 'D')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_business_search_vector ON businesses USING GIN (search_vector);
+
+-- Trigram index for typo-tolerant name matches
+CREATE INDEX IF NOT EXISTS idx_business_name_trgm ON businesses USING GIN (LOWER(name) gin_trgm_ops);
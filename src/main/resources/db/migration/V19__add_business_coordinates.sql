@@ -0,0 +1,13 @@
+-- WGS84 coordinates for "near me" search; NULL until the owner sets a location
+ALTER TABLE businesses ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE businesses ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
+
+ALTER TABLE businesses DROP CONSTRAINT IF EXISTS chk_business_coordinates;
+ALTER TABLE businesses ADD CONSTRAINT chk_business_coordinates CHECK (
+    (latitude IS NULL AND longitude IS NULL) OR
+    (latitude BETWEEN -90 AND 90 AND longitude BETWEEN -180 AND 180)
+);
+
+-- Bounding-box lookups for the nearby fallback; only located, active businesses are indexed
+CREATE INDEX IF NOT EXISTS idx_business_lat_lon ON businesses(latitude, longitude)
+    WHERE is_active = true AND latitude IS NOT NULL;
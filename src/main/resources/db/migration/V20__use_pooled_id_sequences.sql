@@ -0,0 +1,15 @@
+-- Pooled id allocation: Hibernate reserves 50 ids per nextval, so inserts no longer need
+-- RETURNING per row and can be JDBC-batched. Must match allocationSize on the entities.
+-- business_daily_stats and appointment_reminders stay on plain serial ids (native upserts only).
+ALTER SEQUENCE IF EXISTS users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS appointments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS businesses_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS services_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS employees_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS work_schedules_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS reviews_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS favorites_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS notifications_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS notification_preferences_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS staff_invitations_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS email_outbox_id_seq INCREMENT BY 50;
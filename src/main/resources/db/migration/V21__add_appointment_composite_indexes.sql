@@ -0,0 +1,27 @@
+-- Composite indexes for the hot appointment query shapes. Status filters are bind
+-- parameters, so a partial index (e.g. WHERE status <> 'CANCELLED') would be skipped
+-- under generic plans; status is carried in INCLUDE instead so it's checked in the index.
+
+-- Booking conflicts, slot lookups and employee timelines: employee_id = ? AND start_time range;
+-- the overlap check reads only indexed columns. id lets keyset pages walk it backwards.
+CREATE INDEX IF NOT EXISTS idx_appointment_employee_start
+    ON appointments(employee_id, start_time, id) INCLUDE (end_time, status);
+
+-- Dashboards and business appointment lists: business_id = ? AND start_time range / keyset order
+CREATE INDEX IF NOT EXISTS idx_appointment_business_start
+    ON appointments(business_id, start_time, id);
+
+-- "My appointments": newest first with (start_time, id) keyset paging
+CREATE INDEX IF NOT EXISTS idx_appointment_customer_start
+    ON appointments(customer_id, start_time DESC, id DESC);
+
+-- Reminder reconciliation: status = ? AND start_time window, returning only (id, start_time)
+CREATE INDEX IF NOT EXISTS idx_appointment_status_start
+    ON appointments(status, start_time) INCLUDE (id);
+
+-- Superseded by the composites above (same leading column); reminder_sent is no longer
+-- queried since sent reminders are tracked in appointment_reminders
+DROP INDEX IF EXISTS idx_appointment_employee;
+DROP INDEX IF EXISTS idx_appointment_business;
+DROP INDEX IF EXISTS idx_appointment_customer;
+DROP INDEX IF EXISTS idx_reminder_sent;
@@ -0,0 +1,2 @@
+-- Sent reminders are tracked per offset in appointment_reminders; the flag is no longer read or written
+ALTER TABLE appointments DROP COLUMN IF EXISTS reminder_sent;
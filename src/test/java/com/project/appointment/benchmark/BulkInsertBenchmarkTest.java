@@ -0,0 +1,201 @@
+package com.project.appointment.benchmark;
+
+import com.project.appointment.entity.Appointment;
+import com.project.appointment.entity.AppointmentStatus;
+import com.project.appointment.entity.Business;
+import com.project.appointment.entity.DayOfWeek;
+import com.project.appointment.entity.Employee;
+import com.project.appointment.entity.Role;
+import com.project.appointment.entity.Service;
+import com.project.appointment.entity.User;
+import com.project.appointment.entity.WorkSchedule;
+import com.project.appointment.repository.AppointmentRepository;
+import com.project.appointment.repository.WorkScheduleRepository;
+import com.project.appointment.support.PostgresContainerTest;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk schedule and appointment insert throughput, before and after pooled sequence
+ * ids + JDBC batching. "Before" runs the session with a batch size of 1, i.e. one
+ * round trip per row as IDENTITY ids forced; "after" uses the configured batch size.
+ * Rows are flushed inside the test transaction and rolled back afterwards.
+ * <p>
+ * Needs Docker; run with:
+ * <pre>
+ * mvn test -Dtest=BulkInsertBenchmarkTest -Dbenchmark=true
+ * </pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BulkInsertBenchmarkTest extends PostgresContainerTest {
+
+    private static final int EMPLOYEES_PER_ROUND = 200;
+    private static final int APPOINTMENTS_PER_ROUND = 2_000;
+    private static final int WARMUP_ROUNDS = 1;
+    private static final int MEASURED_ROUNDS = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private WorkScheduleRepository workScheduleRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int configuredBatchSize;
+
+    private User customer;
+    private Business business;
+    private Service service;
+    private Employee employee;
+    private int round;
+
+    @BeforeEach
+    void setUp() {
+        User owner = entityManager.persist(user("owner"));
+        customer = entityManager.persist(user("customer"));
+        business = entityManager.persist(Business.builder()
+                .ownerId(owner.getId())
+                .name("Benchmark Salon")
+                .build());
+        service = entityManager.persist(Service.builder()
+                .business(business)
+                .name("Haircut")
+                .durationMinutes(30)
+                .price(new BigDecimal("250.00"))
+                .build());
+        employee = entityManager.persist(Employee.builder()
+                .business(business)
+                .name("Benchmark Employee")
+                .build());
+        entityManager.flush();
+    }
+
+    @Test
+    void workScheduleBulkInsert() {
+        int rowsPerRound = EMPLOYEES_PER_ROUND * DayOfWeek.values().length;
+        // One week per employee (uk_employee_day), as a batch schedule update writes it
+        IntFunction<List<WorkSchedule>> rows = r -> {
+            List<WorkSchedule> schedules = new ArrayList<>(rowsPerRound);
+            for (int i = 0; i < EMPLOYEES_PER_ROUND; i++) {
+                Employee staff = entityManager.persist(Employee.builder()
+                        .business(business)
+                        .name("Staff " + r + "-" + i)
+                        .build());
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    schedules.add(WorkSchedule.builder()
+                            .employee(staff)
+                            .dayOfWeek(day)
+                            .startTime(LocalTime.of(9, 0))
+                            .endTime(LocalTime.of(18, 0))
+                            .build());
+                }
+            }
+            entityManager.flush();
+            return schedules;
+        };
+
+        double before = measure("work_schedules", 1, rows, workScheduleRepository::saveAll);
+        double after = measure("work_schedules", configuredBatchSize, rows, workScheduleRepository::saveAll);
+        report("work_schedules", before, after);
+    }
+
+    @Test
+    void appointmentBulkInsert() {
+        // Back-to-back 30 minute slots; each round starts on a later day so the
+        // exclusion constraint never sees an overlap
+        IntFunction<List<Appointment>> rows = r -> {
+            LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0).plusDays(r * 100L);
+            List<Appointment> appointments = new ArrayList<>(APPOINTMENTS_PER_ROUND);
+            for (int i = 0; i < APPOINTMENTS_PER_ROUND; i++) {
+                LocalDateTime slot = start.plusMinutes(30L * i);
+                appointments.add(Appointment.builder()
+                        .customer(customer)
+                        .business(business)
+                        .service(service)
+                        .employee(employee)
+                        .startTime(slot)
+                        .endTime(slot.plusMinutes(30))
+                        .price(service.getPrice())
+                        .status(AppointmentStatus.CONFIRMED)
+                        .build());
+            }
+            return appointments;
+        };
+
+        double before = measure("appointments", 1, rows, appointmentRepository::saveAll);
+        double after = measure("appointments", configuredBatchSize, rows, appointmentRepository::saveAll);
+        report("appointments", before, after);
+    }
+
+    /** Rows/s over the measured rounds; building the rows is outside the timed section. */
+    private <T> double measure(String table, int batchSize, IntFunction<List<T>> rows,
+                               Function<List<T>, List<T>> saveAll) {
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        long totalRows = 0;
+        long totalNanos = 0;
+        try {
+            for (int i = 0; i < WARMUP_ROUNDS + MEASURED_ROUNDS; i++) {
+                List<T> batch = rows.apply(round++);
+                long startedAt = System.nanoTime();
+                List<T> saved = saveAll.apply(batch);
+                entityManager.flush();
+                long elapsed = System.nanoTime() - startedAt;
+                entityManager.clear();
+                assertThat(saved).hasSize(batch.size());
+                if (i >= WARMUP_ROUNDS) {
+                    totalRows += batch.size();
+                    totalNanos += elapsed;
+                }
+                reattach();
+            }
+        } finally {
+            session.setJdbcBatchSize(null);
+        }
+        double rowsPerSecond = totalRows / (totalNanos / 1_000_000_000.0);
+        log.info("{} batch_size={}: {} rows in {} ms ({} rows/s)", table, batchSize, totalRows,
+                totalNanos / 1_000_000, Math.round(rowsPerSecond));
+        return rowsPerSecond;
+    }
+
+    private void reattach() {
+        customer = entityManager.find(User.class, customer.getId());
+        business = entityManager.find(Business.class, business.getId());
+        service = entityManager.find(Service.class, service.getId());
+        employee = entityManager.find(Employee.class, employee.getId());
+    }
+
+    private void report(String table, double before, double after) {
+        log.info("{}: {} -> {} rows/s ({}x)", table, Math.round(before), Math.round(after),
+                String.format("%.1f", after / before));
+    }
+
+    private static User user(String name) {
+        return User.builder()
+                .email(name + "-" + System.nanoTime() + "@benchmark.local")
+                .password("{noop}benchmark")
+                .role(Role.CUSTOMER)
+                .fullName(name)
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package com.project.appointment.repository;
+
+import com.project.appointment.entity.AppointmentStatus;
+import com.project.appointment.support.PostgresContainerTest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the hot appointment queries are planned on the V21 composite indexes.
+ * The SQL Hibernate actually sends for each repository method is captured, prepared and
+ * explained with {@code plan_cache_mode = force_generic_plan}, i.e. planned without bind
+ * values the way a cached prepared statement is, over a seeded and analyzed table.
+ */
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.project.appointment.repository.AppointmentIndexUsageTest$CapturedSql")
+class AppointmentIndexUsageTest extends PostgresContainerTest {
+
+    private static final String EMPLOYEE_START = "idx_appointment_employee_start";
+    private static final String BUSINESS_START = "idx_appointment_business_start";
+    private static final String CUSTOMER_START = "idx_appointment_customer_start";
+    private static final String STATUS_START = "idx_appointment_status_start";
+
+    private static final int BUSINESSES = 1_000;
+    private static final int EMPLOYEES = 3_000;
+    private static final int CUSTOMERS = 5_000;
+    private static final int APPOINTMENTS = 60_000;
+    private static final long ID_BASE = 1_000_000L;
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 3, 1, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(1);
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final long businessId = ID_BASE + 1;
+    private final long employeeId = ID_BASE + 1;
+    private final long customerId = ID_BASE + 1;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, email, password, role, full_name) " +
+                "SELECT ? + g, 'index-test-' || g || '@example.com', 'x', 'CUSTOMER', 'User ' || g " +
+                "FROM generate_series(1, ?) g", ID_BASE, CUSTOMERS);
+        jdbcTemplate.update("INSERT INTO businesses (id, owner_id, name) " +
+                "SELECT ? + g, ? + g, 'Business ' || g FROM generate_series(1, ?) g",
+                ID_BASE, ID_BASE, BUSINESSES);
+        jdbcTemplate.update("INSERT INTO employees (id, business_id, name) " +
+                "SELECT ? + g, ? + 1 + ((g - 1) % ?), 'Employee ' || g FROM generate_series(1, ?) g",
+                ID_BASE, ID_BASE, BUSINESSES, EMPLOYEES);
+        // One hour apart per employee so the slot exclusion constraint is never hit, written
+        // in booking order rather than slot order; statuses and payments spread as in a live table
+        jdbcTemplate.update("INSERT INTO appointments " +
+                "(id, customer_id, business_id, employee_id, start_time, end_time, status, payment_status) " +
+                "SELECT ? + g, ? + 1 + (g % ?), ? + 1 + ((g % ?) % ?), ? + 1 + (g % ?), " +
+                "TIMESTAMP '2026-01-01' + (g / ?) * INTERVAL '1 hour', " +
+                "TIMESTAMP '2026-01-01' + (g / ?) * INTERVAL '1 hour' + INTERVAL '30 minutes', " +
+                "(ARRAY['PENDING','CONFIRMED','COMPLETED','CANCELLED'])[g % 4 + 1], " +
+                "CASE WHEN g % 4 = 2 THEN 'PAID' ELSE 'PENDING' END " +
+                "FROM generate_series(1, ?) g ORDER BY random()",
+                ID_BASE, ID_BASE, CUSTOMERS, ID_BASE, EMPLOYEES, BUSINESSES, ID_BASE, EMPLOYEES,
+                EMPLOYEES, EMPLOYEES, APPOINTMENTS);
+        jdbcTemplate.execute("ANALYZE users, businesses, employees, appointments");
+        CapturedSql.STATEMENTS.clear();
+    }
+
+    @Test
+    void employeeQueriesUseEmployeeStartIndex() {
+        appointmentRepository.findByEmployeeIdAndAppointmentTimeBetweenAndStatusNot(
+                employeeId, FROM, TO, AppointmentStatus.CANCELLED);
+        assertPlanUses(EMPLOYEE_START);
+
+        appointmentRepository.findByEmployeeIdInAndAppointmentTimeBetweenAndStatusNot(
+                List.of(employeeId, employeeId + 1, employeeId + 2), FROM, TO, AppointmentStatus.CANCELLED);
+        assertPlanUses(EMPLOYEE_START);
+
+        appointmentRepository.findByEmployeeIdOrderByStartTimeDescIdDesc(employeeId, PAGE);
+        assertPlanUses(EMPLOYEE_START);
+
+        appointmentRepository.findEmployeePageAfter(employeeId, TO, ID_BASE + APPOINTMENTS, PAGE);
+        assertPlanUses(EMPLOYEE_START);
+    }
+
+    @Test
+    void businessQueriesUseBusinessStartIndex() {
+        appointmentRepository.findByBusinessIdOrderByStartTimeDescIdDesc(businessId, PAGE);
+        assertPlanUses(BUSINESS_START);
+
+        appointmentRepository.findBusinessPageAfter(businessId, TO, ID_BASE + APPOINTMENTS, PAGE);
+        assertPlanUses(BUSINESS_START);
+
+        appointmentRepository.countByBusinessIdAndAppointmentTimeBetween(businessId, FROM, TO);
+        assertPlanUses(BUSINESS_START);
+
+        appointmentRepository.getTotalRevenueByBusinessIdAndDateRange(businessId, FROM, TO);
+        assertPlanUses(BUSINESS_START);
+    }
+
+    @Test
+    void customerQueriesUseCustomerStartIndex() {
+        appointmentRepository.findByCustomerIdOrderByStartTimeDescIdDesc(customerId, PAGE);
+        assertPlanUses(CUSTOMER_START);
+
+        appointmentRepository.findCustomerPageAfter(customerId, TO, ID_BASE + APPOINTMENTS, PAGE);
+        assertPlanUses(CUSTOMER_START);
+    }
+
+    @Test
+    void reminderTargetsUseStatusStartIndex() {
+        appointmentRepository.findReminderTargets(FROM, TO, AppointmentStatus.CONFIRMED, 0L, PageRequest.of(0, 500));
+        assertPlanUses(STATUS_START);
+    }
+
+    private void assertPlanUses(String index) {
+        String sql = CapturedSql.STATEMENTS.stream()
+                .filter(s -> s.startsWith("select") && s.contains("appointments"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("no appointment query was captured"));
+        CapturedSql.STATEMENTS.clear();
+
+        StringBuilder prepared = new StringBuilder(sql.length() + 16);
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameters);
+            } else {
+                prepared.append(c);
+            }
+        }
+        // Values don't matter for a forced generic plan, so every parameter is bound to NULL
+        String arguments = String.join(", ", Collections.nCopies(parameters, "NULL"));
+
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("PREPARE hot_query AS " + prepared);
+        try {
+            String plan = String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN EXECUTE hot_query" + (parameters > 0 ? "(" + arguments + ")" : ""), String.class));
+            assertThat(plan).as("plan for %s", sql).contains(index);
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE hot_query");
+        }
+    }
+
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.trim());
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.appointment.support;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * JPA slice against a throwaway PostgreSQL with the Flyway migrations applied, for
+ * anything H2 can't stand in for (exclusion constraints, INCLUDE indexes, query plans).
+ * One container is shared by every subclass so the cached Spring context stays valid;
+ * tests are skipped when Docker isn't available.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresContainerTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        // Started here rather than via @Container so it outlives a single test class
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        // Flyway holds its lock on a second connection; the app default pool of 1 would deadlock
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> "4");
+    }
+}